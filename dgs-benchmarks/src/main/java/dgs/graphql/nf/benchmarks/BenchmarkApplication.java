@@ -0,0 +1,53 @@
+package dgs.graphql.nf.benchmarks;
+
+import java.time.Duration;
+
+import dgs.graphql.nf.benchmarks.fixture.ReviewsDataLoader;
+import dgs.graphql.nf.benchmarks.fixture.ShowCatalog;
+import dgs.graphql.nf.benchmarks.fixture.ShowsDataFetcher;
+import dgs.spring.nf.autoconfig.DgsAutoConfiguration;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+
+/**
+ * The in-process application the end-to-end benchmarks execute against: the framework's auto configuration with the
+ * benchmark schema and its fixtures, without a web server.
+ * <p>
+ * The size of the catalog is set with `benchmark.shows` and `benchmark.reviews-per-show`, and the latency of every
+ * backend call with `benchmark.backend-latency`.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportAutoConfiguration(classes = {DgsAutoConfiguration.class})
+@Import({ShowsDataFetcher.class, ReviewsDataLoader.class})
+public class BenchmarkApplication {
+
+    @Bean
+    public ShowCatalog showCatalog(Environment environment) {
+        return new ShowCatalog(
+            environment.getProperty("benchmark.shows", Integer.class, 100),
+            environment.getProperty("benchmark.reviews-per-show", Integer.class, 5),
+            environment.getProperty("benchmark.backend-latency", Duration.class, Duration.ZERO)
+        );
+    }
+
+    /**
+     * Starts the application with the given properties, as `key=value` pairs.
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .logStartupInfo(false)
+            .properties(properties)
+            .run();
+    }
+
+}
@@ -0,0 +1,57 @@
+package dgs.graphql.nf.benchmarks;
+
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * The benchmark schema, without wiring, for the benchmarks that call a component of the framework directly and only
+ * need the field definitions of a DataFetchingEnvironment.
+ */
+public final class BenchmarkSchema {
+
+    public static final String LOCATION = "schema/benchmark.graphqls";
+
+    private BenchmarkSchema() {}
+
+    public static String sdl() {
+        try (InputStream in = BenchmarkSchema.class.getClassLoader().getResourceAsStream(LOCATION)) {
+            if (in == null) {
+                throw new IllegalStateException("Benchmark schema " + LOCATION + " not found");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static GraphQLSchema unexecutable() {
+        return UnExecutableSchemaGenerator.makeUnExecutableSchema(new SchemaParser().parse(sdl()));
+    }
+
+    /**
+     * A DataFetchingEnvironment for the given field, with the given arguments and source, and an empty GraphQLContext.
+     */
+    public static DataFetchingEnvironment environment(GraphQLSchema schema, String parentType, String field, Map<String, Object> arguments, Object source) {
+        var objectType = (GraphQLObjectType) schema.getType(parentType);
+        return DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+            .graphQLSchema(schema)
+            .parentType(objectType)
+            .fieldDefinition(objectType.getFieldDefinition(field))
+            .arguments(arguments)
+            .source(source)
+            .graphQLContext(GraphQLContext.newContext().build())
+            .build();
+    }
+
+}
@@ -0,0 +1,78 @@
+package dgs.graphql.nf.benchmarks;
+
+import graphql.ExecutionResult;
+
+import java.util.concurrent.TimeUnit;
+
+import dgs.graphql.nf.DgsQueryExecutor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The latency distribution of a query that fans out to a @DgsBlocking data fetcher per show, each of which waits for a
+ * backend call, with and without offloading blocking data fetchers to virtual threads.
+ * Sampled from several threads at once, so the percentiles include the contention between requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+public class BlockingFanOutBenchmark {
+
+    @Param({"true", "false"})
+    public boolean virtualThreads;
+
+    @Param({"10", "50"})
+    public int fanOut;
+
+    @Param({"2ms"})
+    public String backendLatency;
+
+    private ConfigurableApplicationContext context;
+    private DgsQueryExecutor executor;
+    private String query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+            "dgs.graphql.virtualthreads.enabled=" + virtualThreads,
+            "dgs.graphql.virtualthreads.max-concurrency-per-request=" + fanOut,
+            "benchmark.backend-latency=" + backendLatency
+        );
+        executor = context.getBean(DgsQueryExecutor.class);
+        query = "{ shows(first: " + fanOut + ") { id details { synopsis } } }";
+        var result = executor.execute(query);
+        if (!result.getErrors().isEmpty()) {
+            throw new IllegalStateException("The fan-out query failed: " + result.getErrors());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ExecutionResult execute() {
+        return executor.execute(query);
+    }
+
+}
@@ -0,0 +1,122 @@
+package dgs.graphql.nf.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the JSON results of two benchmark runs, and exits with status 1 if any benchmark regressed.
+ * <p>
+ * A benchmark regressed if its score got worse by more than the threshold (10% by default, set with
+ * `--threshold=0.05`) and by more than the error margins of both runs, or if its allocation per operation grew by more
+ * than the threshold.
+ * <pre>
+ * java -cp dgs-benchmarks.jar dgs.graphql.nf.benchmarks.CompareResults [--threshold=0.1] baseline.json current.json
+ * </pre>
+ */
+public final class CompareResults {
+
+    static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    record Score(String mode, double score, double error, String unit, Double allocation) {
+        boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+    }
+
+    private CompareResults() {}
+
+    public static void main(String[] args) throws IOException {
+        var threshold = 0.1;
+        var files = new String[2];
+        var fileCount = 0;
+        for (var arg : args) {
+            if (arg.startsWith("--threshold=")) {
+                threshold = Double.parseDouble(arg.substring("--threshold=".length()));
+            } else if (fileCount < 2) {
+                files[fileCount++] = arg;
+            }
+        }
+        if (fileCount != 2) {
+            System.err.println("Usage: CompareResults [--threshold=0.1] <baseline.json> <current.json>");
+            System.exit(2);
+        }
+
+        var baseline = read(new File(files[0]));
+        var current = read(new File(files[1]));
+        var regressions = 0;
+
+        System.out.printf("%-100s %14s %14s %8s %10s%n", "Benchmark", "Baseline", "Current", "Change", "Alloc");
+        for (var entry : current.entrySet()) {
+            var before = baseline.get(entry.getKey());
+            var after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-100s %14s %14.3f %8s%n", entry.getKey(), "-", after.score(), "new");
+                continue;
+            }
+            var change = (after.score() - before.score()) / before.score();
+            var worse = after.higherIsBetter() ? -change : change;
+            var regressed = worse > threshold && Math.abs(after.score() - before.score()) > before.error() + after.error();
+
+            String allocationChange = "";
+            if (before.allocation() != null && after.allocation() != null && before.allocation() > 0) {
+                var growth = (after.allocation() - before.allocation()) / before.allocation();
+                allocationChange = String.format("%+.1f%%", growth * 100);
+                regressed |= growth > threshold;
+            }
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-100s %14.3f %14.3f %+7.1f%% %10s%s%n",
+                entry.getKey(), before.score(), after.score(), change * 100, allocationChange, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + Math.round(threshold * 100) + "%");
+            System.exit(1);
+        }
+    }
+
+    static Map<String, Score> read(File file) throws IOException {
+        var scores = new LinkedHashMap<String, Score>();
+        for (var result : new ObjectMapper().readTree(file)) {
+            var primaryMetric = result.get("primaryMetric");
+            var error = primaryMetric.get("scoreError").asDouble(0);
+            scores.put(key(result), new Score(
+                result.get("mode").asText(),
+                primaryMetric.get("score").asDouble(),
+                Double.isNaN(error) ? 0 : error,
+                primaryMetric.get("scoreUnit").asText(),
+                allocation(result.get("secondaryMetrics"))
+            ));
+        }
+        return scores;
+    }
+
+    static String key(JsonNode result) {
+        var key = new StringBuilder(result.get("benchmark").asText());
+        var params = result.get("params");
+        if (params != null) {
+            // sorted, so the key does not depend on the order of the parameters
+            var sorted = new TreeMap<String, String>();
+            params.fields().forEachRemaining(it -> sorted.put(it.getKey(), it.getValue().asText()));
+            key.append(sorted);
+        }
+        return key.toString();
+    }
+
+    static Double allocation(JsonNode secondaryMetrics) {
+        if (secondaryMetrics == null) {
+            return null;
+        }
+        // older JMH versions prefix the names of profiler metrics with a dot
+        var metric = secondaryMetrics.has(ALLOCATION_METRIC) ? secondaryMetrics.get(ALLOCATION_METRIC) : secondaryMetrics.get("\u00b7" + ALLOCATION_METRIC);
+        return metric != null ? metric.get("score").asDouble() : null;
+    }
+
+}
@@ -0,0 +1,100 @@
+package dgs.graphql.nf.benchmarks;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import dgs.graphql.nf.DgsDataFetchingEnvironment;
+import dgs.graphql.nf.benchmarks.fixture.ShowCatalog;
+import dgs.graphql.nf.benchmarks.fixture.ShowFilter;
+import dgs.graphql.nf.benchmarks.fixture.ShowsDataFetcher;
+import dgs.graphql.nf.internal.DefaultInputObjectMapper;
+import dgs.graphql.nf.internal.method.DataFetchingEnvironmentArgumentResolver;
+import dgs.graphql.nf.internal.method.FallbackEnvironmentArgumentResolver;
+import dgs.graphql.nf.internal.method.InputArgumentResolver;
+import dgs.graphql.nf.internal.method.MethodDataFetcherFactory;
+import dgs.graphql.nf.support.Kt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * [DataFetcherInvoker#get]: resolving the arguments of a @DgsData method and invoking it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DataFetcherInvokerBenchmark {
+
+    public enum Fetcher {
+        /** A single scalar argument. */
+        SCALAR_ARGUMENT("show", Map.of("id", "show-42")),
+        /** Two scalar arguments, one of them absent. */
+        OPTIONAL_ARGUMENTS("shows", Map.of("first", 10)),
+        /** An input object argument. */
+        INPUT_OBJECT("search", Map.of("filter", Map.of("titlePrefix", "Night", "minYear", 2000))),
+        /** The DataFetchingEnvironment as the only argument. */
+        ENVIRONMENT("details", Map.of());
+
+        final String field;
+        final Map<String, Object> arguments;
+
+        Fetcher(String field, Map<String, Object> arguments) {
+            this.field = field;
+            this.arguments = arguments;
+        }
+    }
+
+    @Param
+    public Fetcher fetcher;
+
+    private DataFetcher<Object> dataFetcher;
+    private DataFetchingEnvironment environment;
+
+    @Setup
+    public void setUp() {
+        var catalog = new ShowCatalog(100, 5, Duration.ZERO);
+        var inputObjectMapper = new DefaultInputObjectMapper(null);
+        var factory = new MethodDataFetcherFactory(
+            List.of(
+                new InputArgumentResolver(inputObjectMapper),
+                new DataFetchingEnvironmentArgumentResolver(),
+                new FallbackEnvironmentArgumentResolver(inputObjectMapper)
+            ),
+            null
+        );
+        var javaMethod = switch (fetcher) {
+            case SCALAR_ARGUMENT -> Kt.call(() -> ShowsDataFetcher.class.getMethod("show", String.class));
+            case OPTIONAL_ARGUMENTS -> Kt.call(() -> ShowsDataFetcher.class.getMethod("shows", String.class, Integer.class));
+            case INPUT_OBJECT -> Kt.call(() -> ShowsDataFetcher.class.getMethod("search", ShowFilter.class));
+            case ENVIRONMENT -> Kt.call(() -> ShowsDataFetcher.class.getMethod("details", DgsDataFetchingEnvironment.class));
+        };
+        dataFetcher = factory.createDataFetcher(new ShowsDataFetcher(catalog), javaMethod);
+
+        var parentType = fetcher == Fetcher.ENVIRONMENT ? "Show" : "Query";
+        var source = fetcher == Fetcher.ENVIRONMENT ? catalog.show("show-42") : null;
+        environment = BenchmarkSchema.environment(BenchmarkSchema.unexecutable(), parentType, fetcher.field, fetcher.arguments, source);
+    }
+
+    @Benchmark
+    public Object get() throws Exception {
+        return dataFetcher.get(environment);
+    }
+
+}
@@ -0,0 +1,61 @@
+package dgs.graphql.nf.benchmarks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import dgs.graphql.nf.benchmarks.fixture.ReviewsDataLoader;
+import dgs.graphql.nf.benchmarks.fixture.ShowCatalog;
+import dgs.graphql.nf.internal.DgsDataLoaderProvider;
+
+import org.dataloader.DataLoaderRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * [DgsDataLoaderProvider#buildRegistryWithContextSupplier]: the data loader registry that is built for every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DataLoaderRegistryBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private DgsDataLoaderProvider provider;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(ShowCatalog.class, () -> new ShowCatalog(100, 5, Duration.ZERO));
+        context.register(ReviewsDataLoader.class);
+        context.refresh();
+
+        provider = new DgsDataLoaderProvider(context);
+        provider.findDataLoaders();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DataLoaderRegistry buildRegistryWithContextSupplier() {
+        return provider.buildRegistryWithContextSupplier(() -> null);
+    }
+
+}
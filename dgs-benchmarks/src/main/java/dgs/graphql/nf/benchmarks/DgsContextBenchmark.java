@@ -0,0 +1,76 @@
+package dgs.graphql.nf.benchmarks;
+
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import dgs.graphql.nf.context.DgsContext;
+import dgs.graphql.nf.internal.DefaultDgsGraphQLContextBuilder;
+import dgs.graphql.nf.internal.DefaultDgsGraphQLContextBuilder.DgsWebMvcRequestData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Building the DgsContext of a request, and looking it up from a data fetcher.
+ * These are mostly about allocation; run them with the GC profiler, as the [BenchmarkRunner] does, for gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DgsContextBenchmark {
+
+    private DefaultDgsGraphQLContextBuilder contextBuilder;
+    private DgsWebMvcRequestData requestData;
+    private GraphQLContext graphQLContext;
+    private DataFetchingEnvironment environment;
+
+    @Setup
+    @SuppressWarnings("deprecation")
+    public void setUp() {
+        contextBuilder = new DefaultDgsGraphQLContextBuilder(Optional.empty(), Optional.empty());
+        requestData = new DgsWebMvcRequestData(Map.of(), HttpHeaders.EMPTY, null);
+
+        var dgsContext = contextBuilder.build(requestData);
+        var builder = GraphQLContext.newContext();
+        dgsContext.accept(builder);
+        graphQLContext = builder.build();
+        environment = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+            .context(dgsContext)
+            .graphQLContext(graphQLContext)
+            .build();
+    }
+
+    @Benchmark
+    public DgsContext buildContext() {
+        return contextBuilder.build(requestData);
+    }
+
+    @Benchmark
+    public DgsContext fromEnvironment() {
+        return DgsContext.from(environment);
+    }
+
+    @Benchmark
+    public DgsContext fromGraphQLContext() {
+        return DgsContext.from(graphQLContext);
+    }
+
+}
@@ -0,0 +1,80 @@
+package dgs.graphql.nf.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import graphql.ExecutionResultImpl;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import dgs.graphql.nf.DgsExecutionResult;
+import dgs.graphql.nf.benchmarks.fixture.ShowCatalog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * [DgsExecutionResult#toSpringResponse]: serializing the result of a query with a list of shows and their reviews.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ExecutionResultBenchmark {
+
+    @Param({"10", "1000"})
+    public int shows;
+
+    private ObjectMapper mapper;
+    private DgsExecutionResult result;
+
+    @Setup
+    public void setUp() {
+        mapper = new ObjectMapper();
+        var catalog = new ShowCatalog(shows, 5, Duration.ZERO);
+        var reviews = catalog.reviews(catalog.shows().stream().map(ShowCatalog.Show::id).toList());
+
+        // the data is built as graphql-java completes it, as maps and lists
+        List<Map<String, Object>> data = catalog.shows().stream().<Map<String, Object>>map(show -> {
+            var fields = new LinkedHashMap<String, Object>();
+            fields.put("id", show.id());
+            fields.put("title", show.title());
+            fields.put("releaseYear", show.releaseYear());
+            fields.put("genre", show.genre().name());
+            fields.put("reviews", reviews.get(show.id()).stream().map(review -> {
+                var reviewFields = new LinkedHashMap<String, Object>();
+                reviewFields.put("id", review.id());
+                reviewFields.put("starScore", review.starScore());
+                reviewFields.put("text", review.text());
+                return reviewFields;
+            }).toList());
+            return fields;
+        }).toList();
+
+        result = DgsExecutionResult.builder()
+            .executionResult(ExecutionResultImpl.newExecutionResult().data(Map.of("shows", data)))
+            .build();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> toSpringResponse() {
+        return result.toSpringResponse(mapper);
+    }
+
+}
@@ -0,0 +1,73 @@
+package dgs.graphql.nf.benchmarks;
+
+import graphql.execution.DataFetcherResult;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import dgs.graphql.nf.benchmarks.fixture.ShowCatalog;
+import dgs.graphql.nf.benchmarks.fixture.ShowsDataFetcher;
+import dgs.graphql.nf.federation.DefaultDgsFederationResolver;
+import dgs.graphql.nf.internal.EntityFetcherRegistry;
+import dgs.graphql.nf.support.Kt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * [DefaultDgsFederationResolver] entity resolution: the _entities fetcher resolving a batch of representations with
+ * a @DgsEntityFetcher.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FederationResolverBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int representations;
+
+    private DataFetcher<Object> entitiesFetcher;
+    private DataFetchingEnvironment environment;
+
+    @Setup
+    public void setUp() {
+        var catalog = new ShowCatalog(Math.max(representations, 100), 5, Duration.ZERO);
+        var registry = new EntityFetcherRegistry();
+        registry.put("Show", new ShowsDataFetcher(catalog), Kt.call(() -> ShowsDataFetcher.class.getMethod("show", Map.class)));
+        entitiesFetcher = new DefaultDgsFederationResolver(registry, Optional.empty()).entitiesFetcher();
+
+        List<Map<String, Object>> values = IntStream.range(0, representations)
+            .<Map<String, Object>>mapToObj(i -> Map.of("__typename", "Show", "id", "show-" + i))
+            .toList();
+        environment = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+            .arguments(Map.of("representations", values))
+            .build();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public DataFetcherResult<List<Object>> resolveEntities() throws Exception {
+        return ((CompletableFuture<DataFetcherResult<List<Object>>>) entitiesFetcher.get(environment)).join();
+    }
+
+}
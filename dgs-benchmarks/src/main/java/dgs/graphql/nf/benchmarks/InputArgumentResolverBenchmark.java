@@ -0,0 +1,86 @@
+package dgs.graphql.nf.benchmarks;
+
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import dgs.graphql.nf.benchmarks.fixture.ShowFilter;
+import dgs.graphql.nf.benchmarks.fixture.ShowsDataFetcher;
+import dgs.graphql.nf.internal.DefaultInputObjectMapper;
+import dgs.graphql.nf.internal.method.InputArgumentResolver;
+import dgs.graphql.nf.support.Kt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.SynthesizingMethodParameter;
+
+/**
+ * [AbstractInputArgumentResolver#resolveArgument]: looking up an @InputArgument and converting it to the parameter type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InputArgumentResolverBenchmark {
+
+    public enum Argument {
+        /** A String argument, which needs no conversion. */
+        SCALAR,
+        /** An argument that is not given, which is checked against the field definition. */
+        ABSENT,
+        /** An input object argument, converted by the input object mapper. */
+        INPUT_OBJECT
+    }
+
+    @Param
+    public Argument argument;
+
+    private InputArgumentResolver resolver;
+    private MethodParameter parameter;
+    private DataFetchingEnvironment environment;
+
+    @Setup
+    public void setUp() {
+        resolver = new InputArgumentResolver(new DefaultInputObjectMapper(null));
+        var schema = BenchmarkSchema.unexecutable();
+        switch (argument) {
+            case SCALAR -> {
+                parameter = parameter("show", 0, String.class);
+                environment = BenchmarkSchema.environment(schema, "Query", "show", Map.of("id", "show-42"), null);
+            }
+            case ABSENT -> {
+                parameter = parameter("shows", 0, String.class, Integer.class);
+                environment = BenchmarkSchema.environment(schema, "Query", "shows", Map.of("first", 10), null);
+            }
+            case INPUT_OBJECT -> {
+                parameter = parameter("search", 0, ShowFilter.class);
+                environment = BenchmarkSchema.environment(schema, "Query", "search", Map.of("filter", InputObjectMapperBenchmark.Input.NESTED.value), null);
+            }
+        }
+    }
+
+    static MethodParameter parameter(String methodName, int index, Class<?>... parameterTypes) {
+        var method = Kt.call(() -> ShowsDataFetcher.class.getMethod(methodName, parameterTypes));
+        return SynthesizingMethodParameter.forParameter(method.getParameters()[index]);
+    }
+
+    @Benchmark
+    public Object resolveArgument() {
+        return resolver.resolveArgument(parameter, environment);
+    }
+
+}
@@ -0,0 +1,66 @@
+package dgs.graphql.nf.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import dgs.graphql.nf.benchmarks.fixture.ShowFilter;
+import dgs.graphql.nf.internal.DefaultInputObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * [DefaultInputObjectMapper#mapToJavaObject]: mapping an input object argument to its Java class.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InputObjectMapperBenchmark {
+
+    public enum Input {
+        /** Scalar fields only. */
+        FLAT(Map.of("titlePrefix", "The", "minYear", 1995)),
+        /** A list of enums and a nested input object. */
+        NESTED(Map.of(
+            "titlePrefix", "The",
+            "minYear", 1995,
+            "genres", List.of("DRAMA", "THRILLER", "DOCUMENTARY"),
+            "released", Map.of("from", 1990, "to", 2010)
+        ));
+
+        final Map<String, Object> value;
+
+        Input(Map<String, Object> value) {
+            this.value = value;
+        }
+    }
+
+    @Param
+    public Input input;
+
+    private DefaultInputObjectMapper mapper;
+
+    @Setup
+    public void setUp() {
+        mapper = new DefaultInputObjectMapper(null);
+    }
+
+    @Benchmark
+    public ShowFilter mapToJavaObject() {
+        return mapper.mapToJavaObject(input.value, ShowFilter.class);
+    }
+
+}
@@ -0,0 +1,150 @@
+package dgs.graphql.nf.benchmarks;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import dgs.graphql.nf.internal.utils.MultipartVariableMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * [MultipartVariableMapper#mapVariables]: mapping the files of a multipart request into its variables, including
+ * compiling the map. Mapping changes the variables, so each invocation builds them first; {@link #buildVariables()}
+ * measures that part alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MultipartVariableMapperBenchmark {
+
+    public enum Shape {
+        /** All files in one list: variables.input.files.N */
+        LIST,
+        /** A file per input object: variables.inputs.N.file */
+        OBJECTS
+    }
+
+    @Param({"10", "1000"})
+    public int files;
+
+    @Param
+    public Shape shape;
+
+    private Map<String, List<String>> fileMap;
+    private Map<String, MultipartFile> parts;
+
+    @Setup
+    public void setUp() {
+        fileMap = new LinkedHashMap<>();
+        parts = new HashMap<>();
+        for (var i = 0; i < files; i++) {
+            var name = String.valueOf(i);
+            fileMap.put(name, List.of(shape == Shape.LIST ? "variables.input.files." + i : "variables.inputs." + i + ".file"));
+            parts.put(name, new Part(name));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> buildVariables() {
+        return variables();
+    }
+
+    @Benchmark
+    public Map<String, Object> mapVariables() {
+        var variables = variables();
+        MultipartVariableMapper.INSTANCE.mapVariables(fileMap, variables, parts);
+        return variables;
+    }
+
+    Map<String, Object> variables() {
+        var variables = new LinkedHashMap<String, Object>();
+        if (shape == Shape.LIST) {
+            var input = new LinkedHashMap<String, Object>();
+            input.put("description", "upload");
+            input.put("files", new ArrayList<>(Collections.nCopies(files, null)));
+            variables.put("input", input);
+        } else {
+            var inputs = new ArrayList<Object>(files);
+            for (var i = 0; i < files; i++) {
+                var input = new LinkedHashMap<String, Object>();
+                input.put("description", "upload " + i);
+                input.put("file", null);
+                inputs.add(input);
+            }
+            variables.put("inputs", inputs);
+        }
+        return variables;
+    }
+
+    /** An empty part; the mapper only handles the references. */
+    record Part(String name) implements MultipartFile {
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return name + ".bin";
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/octet-stream";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return true;
+        }
+
+        @Override
+        public long getSize() {
+            return 0;
+        }
+
+        @Override
+        public byte[] getBytes() {
+            return new byte[0];
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public void transferTo(File dest) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void transferTo(Path dest) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
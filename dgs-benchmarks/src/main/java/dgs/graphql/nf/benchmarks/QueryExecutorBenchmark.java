@@ -0,0 +1,85 @@
+package dgs.graphql.nf.benchmarks;
+
+import graphql.ExecutionResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import dgs.graphql.nf.DgsQueryExecutor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * [DgsQueryExecutor#execute] end-to-end: building the context and the data loader registry, parsing, validation,
+ * execution and the data fetchers of the benchmark schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class QueryExecutorBenchmark {
+
+    public enum Shape {
+        /** Scalar fields of a list, resolved by the default property fetchers. */
+        FLAT("{ shows(first: 20) { id title releaseYear genre } }", Map.of()),
+        /** A nested list resolved through a data loader. */
+        NESTED("{ shows(first: 20) { id title reviews { id starScore text } } }", Map.of()),
+        /** An input object argument, mapped by the input object mapper. */
+        INPUT(
+            "query Search($filter: ShowFilter!) { search(filter: $filter) { id title genre } }",
+            Map.of("filter", Map.of("titlePrefix", "The", "genres", List.of("DRAMA", "THRILLER"), "released", Map.of("from", 1990)))
+        );
+
+        final String query;
+        final Map<String, Object> variables;
+
+        Shape(String query, Map<String, Object> variables) {
+            this.query = query;
+            this.variables = variables;
+        }
+    }
+
+    @Param
+    public Shape shape;
+
+    private ConfigurableApplicationContext context;
+    private DgsQueryExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        executor = context.getBean(DgsQueryExecutor.class);
+        var result = executor.execute(shape.query, shape.variables);
+        if (!result.getErrors().isEmpty()) {
+            throw new IllegalStateException("The " + shape + " query failed: " + result.getErrors());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ExecutionResult execute() {
+        return executor.execute(shape.query, shape.variables);
+    }
+
+}
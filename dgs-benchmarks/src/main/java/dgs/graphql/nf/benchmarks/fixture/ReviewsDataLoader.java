@@ -0,0 +1,28 @@
+package dgs.graphql.nf.benchmarks.fixture;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import dgs.graphql.nf.DgsDataLoader;
+import dgs.graphql.nf.benchmarks.fixture.ShowCatalog.Review;
+
+import org.dataloader.MappedBatchLoader;
+
+@DgsDataLoader(name = "reviews")
+public class ReviewsDataLoader implements MappedBatchLoader<String, List<Review>> {
+
+    private final ShowCatalog catalog;
+
+    public ReviewsDataLoader(ShowCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @Override
+    public CompletionStage<Map<String, List<Review>>> load(Set<String> showIds) {
+        return CompletableFuture.completedFuture(catalog.reviews(showIds));
+    }
+
+}
@@ -0,0 +1,103 @@
+package dgs.graphql.nf.benchmarks.fixture;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The in-memory backend of the benchmark schema: a deterministic catalog of shows, each with the same number of reviews.
+ * Backend calls can be given a fixed latency, to simulate a remote service.
+ */
+public final class ShowCatalog {
+
+    public enum Genre { DRAMA, COMEDY, THRILLER, DOCUMENTARY }
+
+    public record Show(String id, String title, Integer releaseYear, Genre genre) {}
+
+    public record Review(String id, int starScore, String text) {}
+
+    public record ShowDetails(String synopsis) {}
+
+    static final String[] TITLE_PREFIXES = { "The", "Night", "Ozark", "Stranger" };
+
+    private final List<Show> shows;
+    private final Map<String, Show> showsById;
+    private final Map<String, List<Review>> reviewsByShowId;
+    private final long backendLatencyNanos;
+
+    public ShowCatalog(int showCount, int reviewsPerShow, Duration backendLatency) {
+        this.shows = new ArrayList<>(showCount);
+        this.showsById = new LinkedHashMap<>();
+        this.reviewsByShowId = new LinkedHashMap<>();
+        this.backendLatencyNanos = backendLatency.toNanos();
+
+        var genres = Genre.values();
+        for (var i = 0; i < showCount; i++) {
+            var show = new Show("show-" + i, TITLE_PREFIXES[i % TITLE_PREFIXES.length] + " " + i, 1980 + i % 40, genres[i % genres.length]);
+            shows.add(show);
+            showsById.put(show.id(), show);
+
+            var reviews = new ArrayList<Review>(reviewsPerShow);
+            for (var j = 0; j < reviewsPerShow; j++) {
+                reviews.add(new Review("review-" + i + "-" + j, 1 + (i + j) % 5, "Review " + j + " of " + show.title()));
+            }
+            reviewsByShowId.put(show.id(), List.copyOf(reviews));
+        }
+    }
+
+    public List<Show> shows() {
+        return shows;
+    }
+
+    public List<Show> shows(String titlePrefix, int first) {
+        return shows.stream()
+            .filter(it -> titlePrefix == null || it.title().startsWith(titlePrefix))
+            .limit(first)
+            .toList();
+    }
+
+    public List<Show> search(ShowFilter filter) {
+        return shows.stream()
+            .filter(it -> filter.getTitlePrefix() == null || it.title().startsWith(filter.getTitlePrefix()))
+            .filter(it -> filter.getMinYear() == null || it.releaseYear() >= filter.getMinYear())
+            .filter(it -> filter.getGenres() == null || filter.getGenres().contains(it.genre()))
+            .filter(it -> filter.getReleased() == null || filter.getReleased().contains(it.releaseYear()))
+            .toList();
+    }
+
+    public Show show(String id) {
+        return showsById.get(id);
+    }
+
+    public Map<String, List<Review>> reviews(Collection<String> showIds) {
+        simulateBackendCall();
+        var reviews = new LinkedHashMap<String, List<Review>>();
+        for (var showId : showIds) {
+            reviews.put(showId, reviewsByShowId.getOrDefault(showId, List.of()));
+        }
+        return reviews;
+    }
+
+    public ShowDetails details(Show show) {
+        simulateBackendCall();
+        return new ShowDetails("The synopsis of " + show.title());
+    }
+
+    void simulateBackendCall() {
+        if (backendLatencyNanos > 0) {
+            // parks a virtual thread instead of pinning its carrier
+            LockSupport.parkNanos(backendLatencyNanos);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ShowCatalog[" + shows.size() + " shows, latency " + TimeUnit.NANOSECONDS.toMicros(backendLatencyNanos) + "us]";
+    }
+
+}
@@ -0,0 +1,40 @@
+package dgs.graphql.nf.benchmarks.fixture;
+
+import java.util.List;
+
+import dgs.graphql.nf.benchmarks.fixture.ShowCatalog.Genre;
+
+/**
+ * The ShowFilter input type, mapped by the [DefaultInputObjectMapper].
+ */
+public class ShowFilter {
+
+    private String titlePrefix;
+    private Integer minYear;
+    private List<Genre> genres;
+    private YearRange released;
+
+    public String getTitlePrefix() { return titlePrefix; }
+
+    public Integer getMinYear() { return minYear; }
+
+    public List<Genre> getGenres() { return genres; }
+
+    public YearRange getReleased() { return released; }
+
+    public static class YearRange {
+
+        private Integer from;
+        private Integer to;
+
+        public Integer getFrom() { return from; }
+
+        public Integer getTo() { return to; }
+
+        boolean contains(Integer year) {
+            return year != null && (from == null || year >= from) && (to == null || year <= to);
+        }
+
+    }
+
+}
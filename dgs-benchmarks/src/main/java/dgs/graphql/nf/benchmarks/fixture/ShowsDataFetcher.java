@@ -0,0 +1,62 @@
+package dgs.graphql.nf.benchmarks.fixture;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import dgs.graphql.nf.DgsBlocking;
+import dgs.graphql.nf.DgsComponent;
+import dgs.graphql.nf.DgsData;
+import dgs.graphql.nf.DgsDataFetchingEnvironment;
+import dgs.graphql.nf.DgsEntityFetcher;
+import dgs.graphql.nf.DgsQuery;
+import dgs.graphql.nf.InputArgument;
+import dgs.graphql.nf.benchmarks.fixture.ShowCatalog.Review;
+import dgs.graphql.nf.benchmarks.fixture.ShowCatalog.Show;
+import dgs.graphql.nf.benchmarks.fixture.ShowCatalog.ShowDetails;
+
+/**
+ * The data fetchers of the benchmark schema, covering input arguments, data loaders, blocking fetchers and entities.
+ */
+@DgsComponent
+public class ShowsDataFetcher {
+
+    private final ShowCatalog catalog;
+
+    public ShowsDataFetcher(ShowCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @DgsQuery
+    public List<Show> shows(@InputArgument("titlePrefix") String titlePrefix, @InputArgument("first") Integer first) {
+        return catalog.shows(titlePrefix, first != null ? first : Integer.MAX_VALUE);
+    }
+
+    @DgsQuery
+    public List<Show> search(@InputArgument("filter") ShowFilter filter) {
+        return catalog.search(filter);
+    }
+
+    @DgsQuery
+    public Show show(@InputArgument("id") String id) {
+        return catalog.show(id);
+    }
+
+    @DgsData(parentType = "Show", field = "reviews")
+    public CompletableFuture<List<Review>> reviews(DgsDataFetchingEnvironment dfe) {
+        Show show = dfe.getSource();
+        return dfe.<String, List<Review>>getDataLoader(ReviewsDataLoader.class).load(show.id());
+    }
+
+    @DgsBlocking
+    @DgsData(parentType = "Show", field = "details")
+    public ShowDetails details(DgsDataFetchingEnvironment dfe) {
+        return catalog.details(dfe.getSource());
+    }
+
+    @DgsEntityFetcher(name = "Show")
+    public Show show(Map<String, Object> values) {
+        return catalog.show((String) values.get("id"));
+    }
+
+}
@@ -0,0 +1,31 @@
+package dgs.graphql.nf.benchmarks.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the calls to the synthetic backends, to compare how well the data loader settings batch.
+ */
+public final class BackendStats {
+
+    final LongAdder fetcherCalls = new LongAdder();
+    final LongAdder loaderBatches = new LongAdder();
+    final LongAdder loaderKeys = new LongAdder();
+
+    public void reset() {
+        fetcherCalls.reset();
+        loaderBatches.reset();
+        loaderKeys.reset();
+    }
+
+    public Map<String, Object> toMap(long operations) {
+        var stats = new LinkedHashMap<String, Object>();
+        var batches = loaderBatches.sum();
+        stats.put("fetcherCallsPerOp", operations > 0 ? (double) fetcherCalls.sum() / operations : 0);
+        stats.put("loaderBatchesPerOp", operations > 0 ? (double) batches / operations : 0);
+        stats.put("loaderKeysPerBatch", batches > 0 ? (double) loaderKeys.sum() / batches : 0);
+        return stats;
+    }
+
+}
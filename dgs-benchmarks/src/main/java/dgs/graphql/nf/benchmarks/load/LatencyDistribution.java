@@ -0,0 +1,65 @@
+package dgs.graphql.nf.benchmarks.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * The latency of a synthetic backend call. Parsed from a property value:
+ * <ul>
+ * <li>`0`, no latency</li>
+ * <li>`fixed:2ms`</li>
+ * <li>`uniform:1ms:5ms`, uniformly distributed between the bounds</li>
+ * <li>`lognormal:2ms:20ms`, log-normally distributed with the given median and 99th percentile, for a long tail</li>
+ * </ul>
+ */
+public sealed interface LatencyDistribution {
+
+    LatencyDistribution NONE = new Fixed(0);
+
+    long sampleNanos();
+
+    record Fixed(long nanos) implements LatencyDistribution {
+        public long sampleNanos() {
+            return nanos;
+        }
+    }
+
+    record Uniform(long minNanos, long maxNanos) implements LatencyDistribution {
+        public long sampleNanos() {
+            return ThreadLocalRandom.current().nextLong(minNanos, maxNanos + 1);
+        }
+    }
+
+    record LogNormal(long medianNanos, long p99Nanos) implements LatencyDistribution {
+        // the 99th percentile of the standard normal distribution
+        static final double Z_99 = 2.3263;
+
+        public long sampleNanos() {
+            var sigma = Math.log((double) p99Nanos / medianNanos) / Z_99;
+            return (long) (medianNanos * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+        }
+    }
+
+    static LatencyDistribution parse(String value) {
+        if (value == null || value.isBlank() || value.equals("0")) {
+            return NONE;
+        }
+        var parts = value.split(":");
+        try {
+            return switch (parts[0]) {
+                case "fixed" -> new Fixed(nanos(parts[1]));
+                case "uniform" -> new Uniform(nanos(parts[1]), nanos(parts[2]));
+                case "lognormal" -> new LogNormal(nanos(parts[1]), nanos(parts[2]));
+                default -> new Fixed(nanos(value));
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid latency distribution '" + value + "', expected e.g. fixed:2ms, uniform:1ms:5ms or lognormal:2ms:20ms", e);
+        }
+    }
+
+    private static long nanos(String duration) {
+        return DurationStyle.detectAndParse(duration).toNanos();
+    }
+
+}
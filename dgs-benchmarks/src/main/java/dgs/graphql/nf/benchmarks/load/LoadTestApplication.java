@@ -0,0 +1,66 @@
+package dgs.graphql.nf.benchmarks.load;
+
+import graphql.execution.AsyncExecutionStrategy;
+import graphql.execution.AsyncSerialExecutionStrategy;
+import graphql.execution.DataFetcherExceptionHandler;
+import graphql.execution.ExecutionStrategy;
+
+import dgs.spring.nf.autoconfig.DgsAutoConfiguration;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+
+/**
+ * The in-process application of the load test: the framework's auto configuration with the [SyntheticSchema], its
+ * data fetchers and data loaders, and no web server. Only the generated schema is loaded, not the schema files of the
+ * benchmarks.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportAutoConfiguration(classes = {DgsAutoConfiguration.class})
+@Import({
+    SyntheticDataFetchers.class,
+    SyntheticDataLoaders.Batched.class,
+    SyntheticDataLoaders.Unbatched.class,
+    SyntheticDataLoaders.MaxBatch16.class
+})
+public class LoadTestApplication {
+
+    @Bean
+    public LoadTestSettings loadTestSettings(Environment environment) {
+        return LoadTestSettings.from(environment);
+    }
+
+    @Bean
+    public BackendStats backendStats() {
+        return new BackendStats();
+    }
+
+    @Bean
+    @Qualifier("query")
+    public ExecutionStrategy queryExecutionStrategy(LoadTestSettings settings, DataFetcherExceptionHandler dataFetcherExceptionHandler) {
+        return settings.serialExecution()
+            ? new AsyncSerialExecutionStrategy(dataFetcherExceptionHandler)
+            : new AsyncExecutionStrategy(dataFetcherExceptionHandler);
+    }
+
+    /**
+     * Starts the application with the given command line arguments, e.g. `--load.depth=4`.
+     */
+    public static ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(LoadTestApplication.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .logStartupInfo(false)
+            .properties("dgs.graphql.schema-locations=classpath*:schema/load-test/**/*.graphql*")
+            .run(args);
+    }
+
+}
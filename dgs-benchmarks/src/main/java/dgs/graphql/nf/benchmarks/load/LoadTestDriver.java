@@ -0,0 +1,170 @@
+package dgs.graphql.nf.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import dgs.graphql.nf.DgsQueryExecutor;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Drives concurrent queries through the [DgsQueryExecutor] of the [LoadTestApplication], and reports the throughput,
+ * the latency percentiles and the allocation rate. Every driver thread executes queries back to back, so the load is a
+ * closed loop with as many requests in flight as there are threads.
+ * <pre>
+ * java --enable-preview -cp dgs-benchmarks.jar dgs.graphql.nf.benchmarks.load.LoadTestDriver \
+ *     --load.depth=3 --load.list-size=5 --load.loader-latency=lognormal:2ms:20ms --load.threads=32 \
+ *     --load.output=target/load-test.json
+ * </pre>
+ * Besides the `load.*` settings of [LoadTestSettings], any framework property can be given, e.g.
+ * `--dgs.graphql.virtualthreads.enabled=true`.
+ * <p>
+ * The allocation rate is the total allocated by all platform threads of the JVM while measuring, so it includes the
+ * threads of the framework and the synthetic backends.
+ */
+public final class LoadTestDriver {
+
+    private LoadTestDriver() {}
+
+    public static void main(String[] args) throws Exception {
+        try (var context = LoadTestApplication.start(args)) {
+            var settings = context.getBean(LoadTestSettings.class);
+            var stats = context.getBean(BackendStats.class);
+            var executor = context.getBean(DgsQueryExecutor.class);
+            var query = settings.query();
+
+            var check = executor.execute(query);
+            if (!check.getErrors().isEmpty()) {
+                throw new IllegalStateException("The load test query failed: " + check.getErrors());
+            }
+
+            System.out.println("Warming up for " + settings.warmup().toSeconds() + "s with " + settings.threads() + " threads");
+            run(executor, query, settings.threads(), settings.warmup(), new Recorder(3), new LongAdder());
+
+            System.out.println("Measuring for " + settings.duration().toSeconds() + "s");
+            stats.reset();
+            var recorder = new Recorder(3);
+            var errors = new LongAdder();
+            var start = System.nanoTime();
+            var allocated = run(executor, query, settings.threads(), settings.duration(), recorder, errors);
+            var elapsedNanos = System.nanoTime() - start;
+
+            var report = report(settings, recorder.getIntervalHistogram(), errors.sum(), elapsedNanos, allocated, stats);
+            var mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            System.out.println(mapper.writeValueAsString(report));
+            if (settings.output() != null) {
+                write(mapper, report, new File(settings.output()));
+            }
+        }
+    }
+
+    /**
+     * Executes the query from the given number of threads until the duration passed.
+     *
+     * @return the bytes allocated meanwhile, measured before the driver threads end
+     */
+    static long run(DgsQueryExecutor executor, String query, int threads, Duration duration, Recorder recorder, LongAdder errors) throws Exception {
+        var allocatedBefore = allocatedBytes();
+        var end = System.nanoTime() + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            var workers = new ArrayList<Future<?>>(threads);
+            for (var i = 0; i < threads; i++) {
+                workers.add(pool.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        var started = System.nanoTime();
+                        var result = executor.execute(query);
+                        recorder.recordValue(System.nanoTime() - started);
+                        if (!result.getErrors().isEmpty()) {
+                            errors.increment();
+                        }
+                    }
+                }));
+            }
+            for (var worker : workers) {
+                worker.get();
+            }
+            return allocatedBytes() - allocatedBefore;
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    static Map<String, Object> report(LoadTestSettings settings, Histogram histogram, long errors, long elapsedNanos, long allocatedBytes, BackendStats stats) {
+        var operations = histogram.getTotalCount();
+        var seconds = elapsedNanos / 1e9;
+
+        var configuration = new LinkedHashMap<String, Object>();
+        configuration.put("breadth", settings.schema().breadth());
+        configuration.put("depth", settings.schema().depth());
+        configuration.put("listSize", settings.schema().listSize());
+        configuration.put("fetcherLatency", settings.fetcherLatency().toString());
+        configuration.put("loaderLatency", settings.loaderLatency().toString());
+        configuration.put("asyncFetchers", settings.asyncFetchers());
+        configuration.put("loader", settings.loader());
+        configuration.put("serialExecution", settings.serialExecution());
+        configuration.put("threads", settings.threads());
+
+        var latency = new LinkedHashMap<String, Object>();
+        latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latency.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        latency.put("max", millis(histogram.getMaxValue()));
+        latency.put("mean", millis((long) histogram.getMean()));
+
+        var report = new LinkedHashMap<String, Object>();
+        report.put("configuration", configuration);
+        report.put("operations", operations);
+        report.put("errors", errors);
+        report.put("throughputPerSecond", operations / seconds);
+        report.put("latencyMillis", latency);
+        report.put("allocatedBytesPerOp", operations > 0 ? allocatedBytes / operations : 0);
+        report.put("allocationRateMBPerSecond", allocatedBytes / seconds / (1024 * 1024));
+        report.put("backend", stats.toMap(operations));
+        return report;
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * The bytes allocated so far by the live platform threads.
+     */
+    static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+            && threadMXBean.isThreadAllocatedMemorySupported()) {
+            var total = 0L;
+            for (var allocated : threadMXBean.getThreadAllocatedBytes(threadMXBean.getAllThreadIds())) {
+                // -1 for threads that ended
+                total += Math.max(allocated, 0);
+            }
+            return total;
+        }
+        return 0;
+    }
+
+    static void write(ObjectMapper mapper, Map<String, Object> report, File file) throws IOException {
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        mapper.writeValue(file, report);
+        System.out.println("Wrote " + file);
+    }
+
+}
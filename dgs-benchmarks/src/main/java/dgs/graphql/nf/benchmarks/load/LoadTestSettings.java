@@ -0,0 +1,60 @@
+package dgs.graphql.nf.benchmarks.load;
+
+import java.time.Duration;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * The settings of a load test run, from the `load.*` properties.
+ *
+ * @param fetcherLatency    the latency of the backend call of the nodes and children data fetchers
+ * @param loaderLatency     the latency of the backend call of a data loader batch
+ * @param asyncFetchers     if true the data fetchers return a CompletableFuture that completes after the latency,
+ *                          otherwise they block the calling thread for it
+ * @param loader            the name of the data loader of the related fields, see [SyntheticDataLoaders]
+ * @param serialExecution   if true queries are executed with the AsyncSerialExecutionStrategy
+ * @param selectChildren    if the query selects the children fields
+ * @param selectRelated     if the query selects the related fields
+ */
+public record LoadTestSettings(
+    SyntheticSchema schema,
+    LatencyDistribution fetcherLatency,
+    LatencyDistribution loaderLatency,
+    boolean asyncFetchers,
+    String loader,
+    boolean serialExecution,
+    boolean selectChildren,
+    boolean selectRelated,
+    int threads,
+    Duration warmup,
+    Duration duration,
+    String output
+) {
+
+    public static LoadTestSettings from(Environment environment) {
+        var select = environment.getProperty("load.select", "both");
+        return new LoadTestSettings(
+            new SyntheticSchema(
+                environment.getProperty("load.breadth", Integer.class, 5),
+                environment.getProperty("load.depth", Integer.class, 3),
+                environment.getProperty("load.list-size", Integer.class, 5)
+            ),
+            LatencyDistribution.parse(environment.getProperty("load.fetcher-latency", "0")),
+            LatencyDistribution.parse(environment.getProperty("load.loader-latency", "0")),
+            environment.getProperty("load.fetcher-mode", "blocking").equals("async"),
+            environment.getProperty("load.loader", SyntheticDataLoaders.BATCHED),
+            environment.getProperty("load.execution-strategy", "async").equals("serial"),
+            !select.equals("related"),
+            !select.equals("children"),
+            environment.getProperty("load.threads", Integer.class, Runtime.getRuntime().availableProcessors() * 2),
+            environment.getProperty("load.warmup", Duration.class, Duration.ofSeconds(10)),
+            environment.getProperty("load.duration", Duration.class, Duration.ofSeconds(30)),
+            environment.getProperty("load.output")
+        );
+    }
+
+    public String query() {
+        return schema.query(selectChildren, selectRelated);
+    }
+
+}
@@ -0,0 +1,73 @@
+package dgs.graphql.nf.benchmarks.load;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import dgs.graphql.nf.DgsCodeRegistry;
+import dgs.graphql.nf.DgsComponent;
+import dgs.graphql.nf.DgsTypeDefinitionRegistry;
+
+/**
+ * Provides the [SyntheticSchema] and its data fetchers. The fetchers are registered in the code registry, since the
+ * types are generated, and call a synthetic backend with the configured latency.
+ */
+@DgsComponent
+public class SyntheticDataFetchers {
+
+    private final LoadTestSettings settings;
+    private final BackendStats stats;
+
+    public SyntheticDataFetchers(LoadTestSettings settings, BackendStats stats) {
+        this.settings = settings;
+        this.stats = stats;
+    }
+
+    @DgsTypeDefinitionRegistry
+    public TypeDefinitionRegistry typeDefinitionRegistry() {
+        return new SchemaParser().parse(settings.schema().sdl());
+    }
+
+    @DgsCodeRegistry
+    public GraphQLCodeRegistry.Builder codeRegistry(GraphQLCodeRegistry.Builder codeRegistry, TypeDefinitionRegistry registry) {
+        var schema = settings.schema();
+        codeRegistry.dataFetcher(FieldCoordinates.coordinates("Query", "nodes"), (DataFetcher<?>) env -> {
+            Integer first = env.getArgument("first");
+            return backendCall(() -> schema.nodes(null, first != null ? first : schema.listSize()));
+        });
+        for (var level = 0; level < schema.depth() - 1; level++) {
+            var typeName = SyntheticSchema.typeName(level);
+            codeRegistry.dataFetcher(FieldCoordinates.coordinates(typeName, "children"), (DataFetcher<?>) env -> {
+                Map<String, Object> source = env.getSource();
+                return backendCall(() -> schema.nodes((String) source.get("id"), schema.listSize()));
+            });
+            codeRegistry.dataFetcher(FieldCoordinates.coordinates(typeName, "related"), (DataFetcher<?>) env -> {
+                Map<String, Object> source = env.getSource();
+                return env.getDataLoader(settings.loader()).load(source.get("id"));
+            });
+        }
+        return codeRegistry;
+    }
+
+    Object backendCall(Supplier<List<Map<String, Object>>> call) {
+        stats.fetcherCalls.increment();
+        var latency = settings.fetcherLatency().sampleNanos();
+        if (settings.asyncFetchers() && latency > 0) {
+            return CompletableFuture.supplyAsync(call, CompletableFuture.delayedExecutor(latency, TimeUnit.NANOSECONDS));
+        }
+        if (latency > 0) {
+            LockSupport.parkNanos(latency);
+        }
+        return call.get();
+    }
+
+}
@@ -0,0 +1,79 @@
+package dgs.graphql.nf.benchmarks.load;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import dgs.graphql.nf.DgsDataLoader;
+
+import org.dataloader.MappedBatchLoader;
+
+/**
+ * The data loaders of the related fields of the [SyntheticSchema], one per loader setting to compare. Every batch is
+ * one call to a synthetic backend that completes asynchronously after the configured latency.
+ */
+public final class SyntheticDataLoaders {
+
+    public static final String BATCHED = "related";
+    public static final String UNBATCHED = "relatedUnbatched";
+    public static final String MAX_BATCH_16 = "relatedMaxBatch16";
+
+    private SyntheticDataLoaders() {}
+
+    abstract static class RelatedNodesLoader implements MappedBatchLoader<String, List<Map<String, Object>>> {
+
+        private final LoadTestSettings settings;
+        private final BackendStats stats;
+
+        RelatedNodesLoader(LoadTestSettings settings, BackendStats stats) {
+            this.settings = settings;
+            this.stats = stats;
+        }
+
+        @Override
+        public CompletionStage<Map<String, List<Map<String, Object>>>> load(Set<String> parentIds) {
+            stats.loaderBatches.increment();
+            stats.loaderKeys.add(parentIds.size());
+            var schema = settings.schema();
+            var latency = settings.loaderLatency().sampleNanos();
+            Supplier<Map<String, List<Map<String, Object>>>> call = () -> {
+                var nodes = new LinkedHashMap<String, List<Map<String, Object>>>();
+                for (var parentId : parentIds) {
+                    nodes.put(parentId, schema.nodes(parentId, schema.listSize()));
+                }
+                return nodes;
+            };
+            return latency > 0
+                ? CompletableFuture.supplyAsync(call, CompletableFuture.delayedExecutor(latency, TimeUnit.NANOSECONDS))
+                : CompletableFuture.completedFuture(call.get());
+        }
+
+    }
+
+    @DgsDataLoader(name = BATCHED)
+    public static class Batched extends RelatedNodesLoader {
+        public Batched(LoadTestSettings settings, BackendStats stats) {
+            super(settings, stats);
+        }
+    }
+
+    @DgsDataLoader(name = UNBATCHED, batching = false)
+    public static class Unbatched extends RelatedNodesLoader {
+        public Unbatched(LoadTestSettings settings, BackendStats stats) {
+            super(settings, stats);
+        }
+    }
+
+    @DgsDataLoader(name = MAX_BATCH_16, maxBatchSize = 16)
+    public static class MaxBatch16 extends RelatedNodesLoader {
+        public MaxBatch16(LoadTestSettings settings, BackendStats stats) {
+            super(settings, stats);
+        }
+    }
+
+}
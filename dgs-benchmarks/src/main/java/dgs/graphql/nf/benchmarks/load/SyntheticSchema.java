@@ -0,0 +1,95 @@
+package dgs.graphql.nf.benchmarks.load;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A generated schema of depth levels of node types, Node0 to Node{depth - 1}. Every node type has breadth scalar
+ * fields, and two list fields of listSize nodes of the next level: children, fetched by a data fetcher, and related,
+ * fetched through a data loader.
+ * <pre>
+ * type Query { nodes(first: Int): [Node0!]! }
+ * type Node0 { id: ID! s0: String ... children: [Node1!]! related: [Node1!]! }
+ * </pre>
+ * A query that selects every level returns listSize^depth nodes per selected list field, so keep the product small.
+ */
+public record SyntheticSchema(int breadth, int depth, int listSize) {
+
+    public SyntheticSchema {
+        if (breadth < 0 || depth < 1 || listSize < 1) {
+            throw new IllegalArgumentException("Invalid synthetic schema: breadth " + breadth + ", depth " + depth + ", list size " + listSize);
+        }
+    }
+
+    public static String typeName(int level) {
+        return "Node" + level;
+    }
+
+    public String sdl() {
+        var sdl = new StringBuilder("type Query {\n    nodes(first: Int): [Node0!]!\n}\n");
+        for (var level = 0; level < depth; level++) {
+            sdl.append("\ntype ").append(typeName(level)).append(" {\n    id: ID!\n");
+            for (var i = 0; i < breadth; i++) {
+                sdl.append("    s").append(i).append(": String\n");
+            }
+            if (level < depth - 1) {
+                sdl.append("    children: [").append(typeName(level + 1)).append("!]!\n");
+                sdl.append("    related: [").append(typeName(level + 1)).append("!]!\n");
+            }
+            sdl.append("}\n");
+        }
+        return sdl.toString();
+    }
+
+    /**
+     * A query of every level and every scalar field, through children, related or both.
+     */
+    public String query(boolean children, boolean related) {
+        var query = new StringBuilder("{ nodes(first: ").append(listSize).append(") ");
+        appendSelection(query, 0, children, related);
+        return query.append(" }").toString();
+    }
+
+    void appendSelection(StringBuilder query, int level, boolean children, boolean related) {
+        query.append("{ id");
+        for (var i = 0; i < breadth; i++) {
+            query.append(" s").append(i);
+        }
+        if (level < depth - 1) {
+            if (children) {
+                query.append(" children ");
+                appendSelection(query, level + 1, children, related);
+            }
+            if (related) {
+                query.append(" related ");
+                appendSelection(query, level + 1, children, related);
+            }
+        }
+        query.append(" }");
+    }
+
+    /**
+     * The nodes below the given parent; the level of a node is encoded in its id.
+     */
+    public List<Map<String, Object>> nodes(String parentId, int count) {
+        var level = parentId == null ? 0 : level(parentId) + 1;
+        var nodes = new ArrayList<Map<String, Object>>(count);
+        for (var i = 0; i < count; i++) {
+            var id = level + "/" + (parentId == null ? "" : parentId.substring(parentId.indexOf('/') + 1) + ".") + i;
+            var node = new LinkedHashMap<String, Object>(breadth + 2);
+            node.put("id", id);
+            for (var field = 0; field < breadth; field++) {
+                node.put("s" + field, "value " + field + " of " + id);
+            }
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    static int level(String id) {
+        return Integer.parseInt(id, 0, id.indexOf('/'), 10);
+    }
+
+}
@@ -0,0 +1,360 @@
+package dgs.graphql.nf.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * Emits a wiring manifest of the DGS bindings found at compile time, so that the DgsSchemaProvider
+ * and DgsDataLoaderProvider can skip reflective scanning of every component at startup.
+ * <p>
+ * The manifest is written to {@value #MANIFEST_LOCATION}, one tab separated binding per line:
+ * <pre>
+ * COMPONENT      component
+ * DATA           component  method  parameterTypes  parentType  field  invoker
+ * ENTITY         component  method  parameterTypes  name
+ * TYPE_RESOLVER  component  method  parameterTypes  name
+ * LOADER         component  dispatchPredicateField
+ * LOADER_FIELD   component  field
+ * </pre>
+ * Parameter types are comma separated canonical names of the erased types; absent values are written as {@code -}.
+ * <p>
+ * The methods of a class include those it inherits from its superclasses and interfaces, also from classes that are
+ * not compiled with the processor, and are recorded under the class itself, as the providers look them up by the class
+ * of the component. A COMPONENT line records every class that was processed, annotated components and classes with
+ * bindings; the providers still scan components that are not in the manifest, e.g. those from jars built without it.
+ * <p>
+ * For public data fetcher methods that take no arguments, or only the DataFetchingEnvironment, a DataFetcher
+ * is generated that calls the method directly; other methods are still invoked reflectively at runtime.
+ */
+@SupportedAnnotationTypes("*")
+public class DgsWiringProcessor extends AbstractProcessor {
+
+    public static final String MANIFEST_LOCATION = "META-INF/dgs/wiring.manifest";
+
+    static final String DGS_COMPONENT = "dgs.graphql.nf.DgsComponent";
+    static final String DGS_DATA = "dgs.graphql.nf.DgsData";
+    static final String DGS_DATA_LIST = "dgs.graphql.nf.DgsData.List";
+    static final String DGS_DATA_LOADER = "dgs.graphql.nf.DgsDataLoader";
+    static final String DGS_DISPATCH_PREDICATE = "dgs.graphql.nf.DgsDispatchPredicate";
+    static final String DGS_ENTITY_FETCHER = "dgs.graphql.nf.DgsEntityFetcher";
+    static final String DGS_TYPE_RESOLVER = "dgs.graphql.nf.DgsTypeResolver";
+
+    static final String DATA_FETCHING_ENVIRONMENT = "graphql.schema.DataFetchingEnvironment";
+    static final String DGS_DATA_FETCHING_ENVIRONMENT = "dgs.graphql.nf.DgsDataFetchingEnvironment";
+
+    private final Set<String> bindings = new LinkedHashSet<>();
+    private final Set<String> invokers = new HashSet<>();
+    private final Map<InvokerKey, String> generatedInvokers = new HashMap<>();
+
+    // an inherited method gets an invoker per class, which casts the component to that class
+    record InvokerKey(TypeElement type, ExecutableElement method) {}
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!bindings.isEmpty()) writeManifest();
+        } else {
+            roundEnv.getRootElements().forEach(this::scan);
+        }
+        // never claim the annotations, other processors may be interested in them
+        return false;
+    }
+
+    void scan(Element element) {
+        if (!(element instanceof TypeElement type)) {
+            return;
+        }
+        var component = binaryName(type);
+        var bindingCount = bindings.size();
+
+        if (hasAnnotation(type, DGS_DATA_LOADER)) {
+            var predicate = type.getEnclosedElements().stream()
+                .filter(it -> it.getKind() == ElementKind.FIELD && hasAnnotation(it, DGS_DISPATCH_PREDICATE))
+                .map(it -> it.getSimpleName().toString())
+                .findFirst().orElse("-");
+            bindings.add(line("LOADER", component, predicate));
+        }
+
+        for (var enclosed : type.getEnclosedElements()) {
+            switch (enclosed.getKind()) {
+                case FIELD -> {
+                    if (hasAnnotation(enclosed, DGS_DATA_LOADER)) {
+                        bindings.add(line("LOADER_FIELD", component, enclosed.getSimpleName().toString()));
+                    }
+                }
+                case CLASS, INTERFACE, ENUM, RECORD -> scan(enclosed);
+                default -> {}
+            }
+        }
+
+        // abstract classes are never components, their methods are recorded with the classes that extend them
+        if (type.getKind().isClass() && !type.getModifiers().contains(Modifier.ABSTRACT)) {
+            for (var method : methods(type)) {
+                scanMethod(type, component, method);
+            }
+            if (bindings.size() > bindingCount || hasAnnotation(type, DGS_COMPONENT) || isMetaAnnotated(type, DGS_COMPONENT)
+                || hasAnnotation(type, DGS_DATA_LOADER)) {
+                bindings.add(line("COMPONENT", component));
+            }
+        }
+    }
+
+    /**
+     * The methods of the type, and those it inherits from its superclasses and interfaces; a method that is overridden
+     * is left out, as reflection does not see its annotations on the overriding method either.
+     */
+    List<ExecutableElement> methods(TypeElement type) {
+        // the superclasses come first, their methods take precedence over the default methods of interfaces
+        var types = new ArrayList<TypeElement>();
+        for (var current = type; current != null; current = superclass(current)) {
+            types.add(current);
+        }
+        var interfaces = new LinkedHashSet<TypeElement>();
+        for (var i = 0; i < types.size(); i++) {
+            addInterfaces(types.get(i), interfaces);
+        }
+        types.addAll(interfaces);
+
+        var methods = new ArrayList<ExecutableElement>();
+        for (var declaringType : types) {
+            for (var method : ElementFilter.methodsIn(declaringType.getEnclosedElements())) {
+                if (declaringType == type || isInherited(type, declaringType, method, methods)) {
+                    methods.add(method);
+                }
+            }
+        }
+        return methods;
+    }
+
+    TypeElement superclass(TypeElement type) {
+        var superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        var element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    void addInterfaces(TypeElement type, Set<TypeElement> interfaces) {
+        for (var supertype : type.getInterfaces()) {
+            if (supertype.getKind() == TypeKind.DECLARED) {
+                var element = (TypeElement) ((DeclaredType) supertype).asElement();
+                if (interfaces.add(element)) {
+                    addInterfaces(element, interfaces);
+                }
+            }
+        }
+    }
+
+    boolean isInherited(TypeElement type, TypeElement declaringType, ExecutableElement method, List<ExecutableElement> found) {
+        var modifiers = method.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) {
+            return false;
+        }
+        if (!modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.PROTECTED)) {
+            // package-private methods are only inherited within their package
+            var elements = processingEnv.getElementUtils();
+            if (!elements.getPackageOf(declaringType).equals(elements.getPackageOf(type))) {
+                return false;
+            }
+        }
+        return found.stream().noneMatch(it -> it.getSimpleName().equals(method.getSimpleName())
+            && processingEnv.getElementUtils().overrides(it, method, type));
+    }
+
+    void scanMethod(TypeElement type, String component, ExecutableElement method) {
+        var name = method.getSimpleName().toString();
+        var parameterTypes = String.join(",", method.getParameters().stream().map(this::typeName).toList());
+        if (parameterTypes.isEmpty()) parameterTypes = "-";
+
+        for (var mirror : method.getAnnotationMirrors()) {
+            var annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            var annotationName = annotationType.getQualifiedName().toString();
+            switch (annotationName) {
+                case DGS_ENTITY_FETCHER ->
+                    bindings.add(line("ENTITY", component, name, parameterTypes, stringValue(mirror, "name", "")));
+                case DGS_TYPE_RESOLVER ->
+                    bindings.add(line("TYPE_RESOLVER", component, name, parameterTypes, stringValue(mirror, "name", "")));
+                case DGS_DATA ->
+                    addDataFetcher(type, component, method, parameterTypes,
+                        stringValue(mirror, "parentType", ""), stringValue(mirror, "field", ""));
+                case DGS_DATA_LIST -> {
+                    for (var value : listValue(mirror, "value")) {
+                        var nested = (AnnotationMirror) value.getValue();
+                        addDataFetcher(type, component, method, parameterTypes,
+                            stringValue(nested, "parentType", ""), stringValue(nested, "field", ""));
+                    }
+                }
+                default -> {
+                    // composed annotations such as @DgsQuery carry @DgsData as a meta-annotation
+                    for (var meta : annotationType.getAnnotationMirrors()) {
+                        var metaType = (TypeElement) meta.getAnnotationType().asElement();
+                        if (metaType.getQualifiedName().contentEquals(DGS_DATA)) {
+                            var field = stringValue(mirror, "field", "");
+                            addDataFetcher(type, component, method, parameterTypes,
+                                stringValue(meta, "parentType", ""), field.isBlank() ? stringValue(meta, "field", "") : field);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    void addDataFetcher(TypeElement type, String component, ExecutableElement method, String parameterTypes, String parentType, String field) {
+        var name = method.getSimpleName().toString();
+        var invoker = generatedInvokers.computeIfAbsent(new InvokerKey(type, method), it -> generateInvoker(type, method));
+        bindings.add(line("DATA", component, name, parameterTypes, parentType, field.isBlank() ? name : field, invoker));
+    }
+
+    /**
+     * Generates a DataFetcher that calls the method directly, if the method can be called from generated code
+     * without resolving any arguments. Returns the binary name of the generated class, or "-" if none was generated.
+     */
+    String generateInvoker(TypeElement type, ExecutableElement method) {
+        if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC) || !isAccessible(type)) {
+            return "-";
+        }
+        var parameters = method.getParameters();
+        String argument;
+        if (parameters.isEmpty()) {
+            argument = "";
+        } else if (parameters.size() == 1 && typeName(parameters.get(0)).equals(DATA_FETCHING_ENVIRONMENT)) {
+            argument = "environment";
+        } else if (parameters.size() == 1 && typeName(parameters.get(0)).equals(DGS_DATA_FETCHING_ENVIRONMENT)) {
+            argument = "new " + DGS_DATA_FETCHING_ENVIRONMENT + "(environment)";
+        } else {
+            return "-";
+        }
+
+        var packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        var baseName = binaryName(type).substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace('$', '_')
+            + '_' + method.getSimpleName() + "_DgsInvoker";
+        var simpleName = baseName;
+        for (int i = 2; !invokers.add(packageName + '.' + simpleName); ++i) {
+            simpleName = baseName + i;
+        }
+        var invokerName = packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+
+        var componentType = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+        var call = "component." + method.getSimpleName() + "(" + argument + ")";
+        var body = method.getReturnType().getKind() == TypeKind.VOID
+            ? call + ";\n        return null;"
+            : "return " + call + ";";
+
+        try (var out = new PrintWriter(processingEnv.getFiler().createSourceFile(invokerName, type).openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+            out.println("public final class " + simpleName + " implements graphql.schema.DataFetcher<Object> {");
+            out.println();
+            out.println("    private final " + componentType + " component;");
+            out.println();
+            out.println("    public " + simpleName + "(Object component) {");
+            out.println("        this.component = (" + componentType + ") component;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public Object get(graphql.schema.DataFetchingEnvironment environment) throws Exception {");
+            out.println("        " + body);
+            out.println("    }");
+            out.println();
+            out.println("}");
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Unable to generate invoker " + invokerName + ": " + ex.getMessage(), method);
+            return "-";
+        }
+        return invokerName;
+    }
+
+    void writeManifest() {
+        try (var out = new PrintWriter(processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", MANIFEST_LOCATION).openWriter())) {
+            bindings.forEach(out::println);
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + MANIFEST_LOCATION + ": " + ex.getMessage());
+        }
+    }
+
+    boolean isAccessible(TypeElement type) {
+        for (Element e = type; e instanceof TypeElement t; e = t.getEnclosingElement()) {
+            if (!t.getModifiers().contains(Modifier.PUBLIC)) return false;
+            if (t.getNestingKind() == NestingKind.MEMBER && !t.getModifiers().contains(Modifier.STATIC) && t.getKind() == ElementKind.CLASS) return false;
+            if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS) return false;
+        }
+        return true;
+    }
+
+    String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    String typeName(VariableElement parameter) {
+        return processingEnv.getTypeUtils().erasure(parameter.asType()).toString();
+    }
+
+    static boolean isMetaAnnotated(Element element, String annotation) {
+        return element.getAnnotationMirrors().stream()
+            .anyMatch(it -> hasAnnotation(it.getAnnotationType().asElement(), annotation));
+    }
+
+    static boolean hasAnnotation(Element element, String annotation) {
+        return element.getAnnotationMirrors().stream()
+            .anyMatch(it -> ((TypeElement) it.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation));
+    }
+
+    static String stringValue(AnnotationMirror mirror, String name, String defaultValue) {
+        var value = value(mirror, name);
+        return value != null ? value.getValue().toString() : defaultValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<? extends AnnotationValue> listValue(AnnotationMirror mirror, String name) {
+        var value = value(mirror, name);
+        return value != null ? (List<? extends AnnotationValue>) value.getValue() : new ArrayList<>();
+    }
+
+    static AnnotationValue value(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : mirror.getElementValues().entrySet()) {
+            if (e.getKey().getSimpleName().contentEquals(name)) return e.getValue();
+        }
+        return null;
+    }
+
+    static String line(String... values) {
+        return String.join("\t", values);
+    }
+
+}
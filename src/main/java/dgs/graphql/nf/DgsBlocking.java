@@ -0,0 +1,17 @@
+package dgs.graphql.nf;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a synchronous @DgsData method as blocking, e.g. because it calls a remote service or a database.
+ * When {@code dgs.graphql.virtualthreads.enabled} is set, blocking data fetchers run on a virtual thread,
+ * so sibling fields are fetched concurrently instead of one after another on the request thread.
+ * <p>
+ * Thread bound state, such as the Spring RequestContextHolder, is not available inside a blocking data fetcher.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface DgsBlocking {
+    boolean value() default true;
+}
@@ -0,0 +1,26 @@
+package dgs.graphql.nf;
+
+import java.lang.annotation.*;
+
+/**
+ * Memoizes the results of a @DgsData method across requests, per parent and arguments, for ttlSeconds.
+ * The parent is identified by its parentKey property, e.g. {@code id}; the results of root fields only depend on
+ * the arguments. At most maxSize results are kept per field. Concurrent fetches of a result that is not cached yet
+ * share a single invocation of the method.
+ * <p>
+ * The field can also be cached in the schema, with a {@code @cached} directive on the field definition, which takes
+ * precedence over this annotation; it is declared as
+ * {@code directive @cached(ttl: Int, maxSize: Int, parentKey: String) on FIELD_DEFINITION}, with ttl in seconds.
+ * The result must not depend on anything but the parent and the arguments, such as the user of the request; errors
+ * are not cached.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface DgsCached {
+    long ttlSeconds() default 60;
+
+    int maxSize() default 1000;
+
+    String parentKey() default "id";
+}
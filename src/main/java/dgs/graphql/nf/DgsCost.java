@@ -0,0 +1,17 @@
+package dgs.graphql.nf;
+
+import java.lang.annotation.*;
+
+/**
+ * The weight of the field of a @DgsData method in the cost of a query, when query cost analysis is enabled with
+ * {@code dgs.graphql.query-cost.enabled}. Fields have a weight of 1 by default.
+ * <p>
+ * The weight can also be set in the schema, with a {@code @cost(weight: Int!)} directive on the field definition,
+ * which takes precedence over this annotation.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface DgsCost {
+    int value();
+}
@@ -6,6 +6,7 @@ import graphql.schema.DelegatingDataFetchingEnvironment;
 import java.util.Arrays;
 
 import dgs.graphql.nf.context.DgsContext;
+import dgs.graphql.nf.context.LazyContextValue;
 import dgs.graphql.nf.exceptions.MultipleDataLoadersDefinedException;
 import dgs.graphql.nf.exceptions.NoDataLoaderFoundException;
 import dgs.graphql.nf.internal.utils.DataLoaderNameUtil;
@@ -22,6 +23,13 @@ public class DgsDataFetchingEnvironment extends DelegatingDataFetchingEnvironmen
         return DgsContext.from(this);
     }
 
+    /**
+     * Reads a value from the GraphQLContext, evaluating it if it is a [LazyContextValue].
+     */
+    public <T> T getContextValue(Object key) {
+        return LazyContextValue.get(this, key);
+    }
+
     public <K, V> DataLoader<K, V> getDataLoader( Class<?> loaderClass) {
         var annotation = loaderClass.getAnnotation(DgsDataLoader.class);
         if (annotation != null) {
@@ -0,0 +1,153 @@
+package dgs.graphql.nf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * The result of an incrementally delivered (@defer) query: the initial payload, and a [Publisher] of the
+ * subsequent payloads in the format of the GraphQL incremental delivery proposal,
+ * <pre>
+ * {"incremental": [{"data": {...}, "path": [], "label": "..."}], "hasNext": false}
+ * </pre>
+ * If {@link #hasNext()} is false the query deferred nothing, and the initial payload is the complete result.
+ */
+public class DgsIncrementalExecutionResult implements ExecutionResult {
+
+    public static final String BOUNDARY = "-";
+
+    public static final MediaType MULTIPART_MIXED = MediaType.parseMediaType("multipart/mixed; boundary=\"" + BOUNDARY + "\"; deferSpec=20220824");
+
+    private final ExecutionResult initialResult;
+    private final Publisher<Map<String, Object>> subsequentPayloads;
+    private final boolean hasNext;
+
+    public DgsIncrementalExecutionResult(ExecutionResult initialResult, Publisher<Map<String, Object>> subsequentPayloads, boolean hasNext) {
+        this.initialResult = initialResult;
+        this.subsequentPayloads = subsequentPayloads;
+        this.hasNext = hasNext;
+    }
+
+    /** A result that is delivered in a single payload. */
+    public static DgsIncrementalExecutionResult complete(ExecutionResult executionResult) {
+        return new DgsIncrementalExecutionResult(executionResult, Flux.empty(), false);
+    }
+
+    /** The subsequent payload delivering the result of a deferred fragment. */
+    public static Map<String, Object> subsequentPayload(ExecutionResult deferredResult, List<Object> path, String label, boolean hasNext) {
+        var incremental = new LinkedHashMap<String, Object>();
+        incremental.put("data", deferredResult.getData());
+        incremental.put("path", path);
+        if (label != null) {
+            incremental.put("label", label);
+        }
+        if (!deferredResult.getErrors().isEmpty()) {
+            incremental.put("errors", deferredResult.getErrors().stream().map(GraphQLError::toSpecification).toList());
+        }
+        var payload = new LinkedHashMap<String, Object>();
+        payload.put("incremental", List.of(incremental));
+        payload.put("hasNext", hasNext);
+        return payload;
+    }
+
+    public ExecutionResult getInitialResult() {
+        return initialResult;
+    }
+
+    public Publisher<Map<String, Object>> getSubsequentPayloads() {
+        return subsequentPayloads;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public <T> T getData() { return initialResult.getData(); }
+    @Override
+    public List<GraphQLError> getErrors() { return initialResult.getErrors(); }
+    @Override
+    public Map<Object, Object> getExtensions() { return initialResult.getExtensions(); }
+    @Override
+    public boolean isDataPresent() { return initialResult.isDataPresent(); }
+
+    @Override
+    public Map<String, Object> toSpecification() {
+        var spec = initialResult.toSpecification();
+        if (!hasNext) {
+            return spec;
+        }
+        var initialPayload = new LinkedHashMap<String, Object>(spec);
+        initialPayload.put("hasNext", true);
+        return initialPayload;
+    }
+
+    /**
+     * Writes the payloads as the parts of a multipart/mixed body, flushing after each part so that the client
+     * receives the initial payload while the deferred fragments are still executing.
+     * Blocks until the last payload has been written.
+     */
+    public void writeMultipart(OutputStream out, ObjectMapper mapper) throws IOException {
+        writePart(out, mapper, toSpecification());
+        if (hasNext) {
+            try {
+                Flux.from(subsequentPayloads).doOnNext(payload -> {
+                    try {
+                        writePart(out, mapper, payload);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }).blockLast();
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        }
+        out.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    static void writePart(OutputStream out, ObjectMapper mapper, Map<String, Object> payload) throws IOException {
+        out.write(("\r\n--" + BOUNDARY + "\r\nContent-Type: application/json; charset=utf-8\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(mapper.writeValueAsBytes(payload));
+        out.flush();
+    }
+
+    /**
+     * A streaming multipart/mixed response if anything was deferred, otherwise a plain JSON response.
+     */
+    public ResponseEntity<?> toSpringResponse(ObjectMapper mapper) {
+        if (!hasNext) {
+            var result = initialResult instanceof DgsExecutionResult dgsExecutionResult
+                ? dgsExecutionResult
+                : DgsExecutionResult.builder().executionResult(initialResult).build();
+            return result.toSpringResponse(mapper);
+        }
+        var headers = new HttpHeaders();
+        if (initialResult instanceof DgsExecutionResult dgsExecutionResult) {
+            headers.addAll(dgsExecutionResult.headers());
+        }
+        headers.setContentType(MULTIPART_MIXED);
+        StreamingResponseBody body = out -> writeMultipart(out, mapper);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+}
@@ -5,11 +5,16 @@ import com.jayway.jsonpath.TypeRef;
 
 import graphql.ExecutionResult;
 
+import org.reactivestreams.Publisher;
+
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
+import reactor.core.publisher.Mono;
+
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -80,6 +85,61 @@ public interface DgsQueryExecutor {
      */
     ExecutionResult execute(String query, Map<String, Object> variables, Map<String, Object> extensions, HttpHeaders headers, String operationName, WebRequest webRequest);
 
+    /**
+     * Executes a GraphQL query that may defer parts of its selection with the @defer directive.
+     * The initial payload is returned as soon as the non-deferred selections are complete, and the deferred fragments
+     * are delivered by {@link DgsIncrementalExecutionResult#getSubsequentPayloads()} as they complete.
+     * <p>
+     * The default implementation does not defer anything, and delivers the complete result in the initial payload.
+     *
+     * @see #execute(String, Map, Map, HttpHeaders, String, WebRequest)
+     * @see <a href="https://github.com/graphql/graphql-wg/blob/main/rfcs/DeferStream.md">Incremental delivery RFC</a>
+     */
+    default DgsIncrementalExecutionResult executeIncrementally(String query, Map<String, Object> variables, Map<String, Object> extensions, HttpHeaders headers, String operationName, WebRequest webRequest) {
+        return DgsIncrementalExecutionResult.complete(execute(query, variables, extensions, headers, operationName, webRequest));
+    }
+
+    /**
+     * An operation of a batch.
+     *
+     * @see #executeBatch(List, Map, HttpHeaders, WebRequest)
+     */
+    record BatchedOperation(String query, Map<String, Object> variables, String operationName) {}
+
+    /**
+     * Executes a batch of GraphQL operations that were sent in a single request.
+     * Implementations may share request scoped state, such as the DgsContext and data loaders, between the operations.
+     * <p>
+     * The default implementation executes the operations one by one.
+     *
+     * @param operations The operations
+     * @param extensions A map representing GraphQL extensions, shared by all operations
+     * @param headers    Request headers represented as a Spring Framework {@link HttpHeaders}
+     * @param webRequest A Spring {@link WebRequest} giving access to request details.
+     * @return The results of the operations, in the order of the operations.
+     */
+    default List<ExecutionResult> executeBatch(List<BatchedOperation> operations, Map<String, Object> extensions, HttpHeaders headers, WebRequest webRequest) {
+        return operations.stream()
+            .map(it -> execute(it.query(), it.variables(), extensions, headers, it.operationName(), webRequest))
+            .toList();
+    }
+
+    /**
+     * Executes a GraphQL subscription.
+     * Each event of the subscription is delivered as an {@link ExecutionResult} by the returned {@link Publisher}.
+     * If the operation fails before the subscription is established, e.g. because it is not valid,
+     * the Publisher delivers a single result with the errors and completes.
+     *
+     * @see #execute(String, Map, Map, HttpHeaders, String, WebRequest)
+     */
+    default Publisher<ExecutionResult> executeSubscription(String query, Map<String, Object> variables, Map<String, Object> extensions, HttpHeaders headers, String operationName, WebRequest webRequest) {
+        var executionResult = execute(query, variables, extensions, headers, operationName, webRequest);
+        if (executionResult.getData() instanceof Publisher<?> results) {
+            return (Publisher<ExecutionResult>) results;
+        }
+        return Mono.just(executionResult);
+    }
+
     /**
      * Executes a GraphQL query, parses the returned data, and uses a Json Path to extract specific elements out of the data.
      * The method is generic, and tries to cast the result into the type you specify. This does NOT work on Lists. Use {@link #executeAndExtractJsonPathAsObject(String, String, TypeRef)}instead.
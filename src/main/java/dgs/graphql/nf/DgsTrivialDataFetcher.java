@@ -0,0 +1,18 @@
+package dgs.graphql.nf;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a @DgsData method as a trivial data fetcher: synchronous, cheap and free of side effects, such as a
+ * property style getter. Trivial data fetchers are registered as a graphql-java LightDataFetcher, so field
+ * instrumentation is skipped and the DataFetchingEnvironment is only created if the method asks for it.
+ * <p>
+ * Methods without arguments on non-root types that return a plain value are detected as trivial automatically;
+ * use {@code @DgsTrivialDataFetcher(false)} to opt out.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface DgsTrivialDataFetcher {
+    boolean value() default true;
+}
@@ -0,0 +1,36 @@
+package dgs.graphql.nf.context;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+import dgs.graphql.nf.internal.DgsRequestData;
+
+/**
+ * A [GraphQLContextContributor] that computes its entries asynchronously, e.g. by calling a remote service.
+ * The framework starts all asynchronous contributors of a request at once, so the time spent on them is that of the slowest
+ * contributor instead of the sum. If a contributor does not complete within its [timeout], or fails, the entries
+ * of its [fallback] are put in the GraphQLContext instead.
+ */
+public interface AsyncGraphQLContextContributor {
+
+    Duration DEFAULT_TIMEOUT = Duration.ofSeconds(1);
+
+    /**
+     * @return the entries to place in the GraphQLContext; entries with a null key or value are skipped
+     */
+    CompletionStage<Map<?, ?>> contribute(Map<String, Object> extensions, DgsRequestData requestData);
+
+    default Duration timeout() {
+        return DEFAULT_TIMEOUT;
+    }
+
+    /**
+     * The entries to place in the GraphQLContext if the contribution failed or timed out.
+     */
+    default Map<?, ?> fallback(Throwable error) {
+        return Collections.emptyMap();
+    }
+
+}
@@ -46,40 +46,63 @@ public class DgsContext implements Consumer<GraphQLContext.Builder> {
         return graphQLContext.get(GraphQLContextKey.DGS_CONTEXT_KEY);
     }
 
+    /**
+     * The DgsContext is also set as the (deprecated) context object of the execution, which is a plain field,
+     * so the lookup in the GraphQLContext is only needed if the execution was not started by the DGS executor.
+     */
+    static DgsContext from(Object context, GraphQLContext graphQLContext) {
+        return context instanceof DgsContext dgsContext ? dgsContext : from(graphQLContext);
+    }
+
+    @SuppressWarnings("deprecation")
     public static DgsContext from(DataFetchingEnvironment dfe) {
-        return from(dfe.getGraphQlContext());
+        return from(dfe.getContext(), dfe.getGraphQlContext());
     }
 
+    @SuppressWarnings("deprecation")
     public static DgsContext from(ExecutionInput ei) {
-        return from(ei.getGraphQLContext());
+        return from(ei.getContext(), ei.getGraphQLContext());
+    }
+
+    public static DgsContext from(BatchLoaderEnvironment batchLoaderEnvironment) {
+        return switch (batchLoaderEnvironment.getContext()) {
+            case DgsContext dgsContext -> dgsContext;
+            case GraphQLContext graphQLContext -> from(graphQLContext);
+            default -> throw new RuntimeException("The context of the BatchLoaderEnvironment is not a GraphQLContext. It is a " + batchLoaderEnvironment.getContext() + " instead.");
+        };
     }
 
     public static DgsContext from(InstrumentationCreateStateParameters p) {
-        return from(p.getExecutionInput().getGraphQLContext());
+        return from(p.getExecutionInput());
     }
 
+    @SuppressWarnings("deprecation")
     public static DgsContext from(InstrumentationExecuteOperationParameters p) {
-        return from(p.getExecutionContext().getGraphQLContext());
+        return from(p.getExecutionContext().getContext(), p.getExecutionContext().getGraphQLContext());
     }
 
     public static DgsContext from(InstrumentationExecutionParameters p) {
         return from(p.getGraphQLContext());
     }
 
+    @SuppressWarnings("deprecation")
     public static DgsContext from(InstrumentationExecutionStrategyParameters p) {
-        return from(p.getExecutionContext().getGraphQLContext());
+        return from(p.getExecutionContext().getContext(), p.getExecutionContext().getGraphQLContext());
     }
 
+    @SuppressWarnings("deprecation")
     public static DgsContext from(InstrumentationFieldCompleteParameters p) {
-        return from(p.getExecutionContext().getGraphQLContext());
+        return from(p.getExecutionContext().getContext(), p.getExecutionContext().getGraphQLContext());
     }
 
+    @SuppressWarnings("deprecation")
     public static DgsContext from(InstrumentationFieldFetchParameters p) {
-        return from(p.getExecutionContext().getGraphQLContext());
+        return from(p.getExecutionContext().getContext(), p.getExecutionContext().getGraphQLContext());
     }
 
+    @SuppressWarnings("deprecation")
     public static DgsContext from(InstrumentationFieldParameters p) {
-        return from(p.getExecutionContext().getGraphQLContext());
+        return from(p.getExecutionContext().getContext(), p.getExecutionContext().getGraphQLContext());
     }
 
     public static DgsContext from(InstrumentationValidationParameters p) {
@@ -100,8 +123,7 @@ public class DgsContext implements Consumer<GraphQLContext.Builder> {
     }
 
     public static <T> T getCustomContext(BatchLoaderEnvironment batchLoaderEnvironment) {
-        var dgsContext = (GraphQLContext)batchLoaderEnvironment.getContext();
-        return getCustomContext(dgsContext);
+        return (T) from(batchLoaderEnvironment).getCustomContext();
     }
 
     public static DgsRequestData getRequestData(DataFetchingEnvironment dataFetchingEnvironment) {
@@ -110,8 +132,7 @@ public class DgsContext implements Consumer<GraphQLContext.Builder> {
     }
 
     public static DgsRequestData getRequestData(BatchLoaderEnvironment batchLoaderEnvironment) {
-        var dgsContext = (DgsContext)batchLoaderEnvironment.getContext();
-        return dgsContext.getRequestData();
+        return from(batchLoaderEnvironment).getRequestData();
     }
 
     @Override
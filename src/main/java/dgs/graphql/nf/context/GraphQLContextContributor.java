@@ -7,6 +7,7 @@ import dgs.graphql.nf.internal.DgsRequestData;
 /**
  * For each bean implementing this interface found, the framework will call the [contribute] method for every request.
  * The [contribute] method is then able to use the [GraphQLContext.Builder] to provide additional entries to place in the context.
+ * Entries that are expensive to compute, and not needed by every request, can be contributed as a [LazyContextValue].
  */
 public interface GraphQLContextContributor {
     public void contribute( GraphQLContext.Builder builder,  Map<String,Object> extensions,  DgsRequestData requestData);
@@ -5,21 +5,44 @@ import graphql.execution.instrumentation.InstrumentationState;
 import graphql.execution.instrumentation.SimpleInstrumentation;
 import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import dgs.graphql.nf.internal.DgsRequestData;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Instrumentation that allows GraphQLContextContributor's to contribute to values stored in the GraphQLContext object.
  * For each contributor, invoke the GraphQLContextContributor's contribute method, and then put the resulting contents
  * of the intermediate GraphQLContext into the existing GraphQLContext.
+ * <p>
+ * AsyncGraphQLContextContributor's are all started first, and run concurrently with each other and with the synchronous
+ * contributors; their entries are put into the GraphQLContext once all of them have completed, failed or timed out.
+ * The GraphQLContext does not hold nulls, so entries with a null key or value are skipped with a warning.
  *
  * @see com.netflix.graphql.dgs.context.GraphQLContextContributor.contribute()
  */
 public class GraphQLContextContributorInstrumentation extends SimpleInstrumentation {
 
     private final List<? extends GraphQLContextContributor> graphQLContextContributors;
+    private final List<? extends AsyncGraphQLContextContributor> asyncGraphQLContextContributors;
 
     public GraphQLContextContributorInstrumentation( List<? extends GraphQLContextContributor> graphQLContextContributors) {
+        this(graphQLContextContributors, Collections.emptyList());
+    }
+
+    public GraphQLContextContributorInstrumentation(
+        List<? extends GraphQLContextContributor> graphQLContextContributors,
+        List<? extends AsyncGraphQLContextContributor> asyncGraphQLContextContributors
+    ) {
         this.graphQLContextContributors = graphQLContextContributors;
+        this.asyncGraphQLContextContributors = asyncGraphQLContextContributors;
     }
 
     /**
@@ -29,16 +52,62 @@ public class GraphQLContextContributorInstrumentation extends SimpleInstrumentat
     @Override
     public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
         var graphqlContext = parameters.getExecutionInput().getGraphQLContext();
-        if (graphqlContext != null && graphQLContextContributors.iterator().hasNext()) {
+        if (graphqlContext != null && (!graphQLContextContributors.isEmpty() || !asyncGraphQLContextContributors.isEmpty())) {
             var extensions = parameters.getExecutionInput().getExtensions();
-            var requestData = DgsContext.from(graphqlContext).getRequestData();
-            var builderForContributors = GraphQLContext.newContext();
-            graphQLContextContributors.forEach(it -> it.contribute(builderForContributors, extensions, requestData) );
-            graphqlContext.putAll(builderForContributors);
+            var requestData = DgsContext.from(parameters.getExecutionInput()).getRequestData();
+
+            var asyncContributions = asyncGraphQLContextContributors.stream()
+                .map(it -> contributeAsync(it, extensions, requestData))
+                .toList();
+
+            if (!graphQLContextContributors.isEmpty()) {
+                var builderForContributors = GraphQLContext.newContext();
+                graphQLContextContributors.forEach(it -> it.contribute(builderForContributors, extensions, requestData) );
+                graphqlContext.putAll(builderForContributors);
+            }
+
+            asyncContributions.forEach(it -> it.join().forEach(graphqlContext::put));
         }
 
         return super.createState(parameters);
     }
 
-}
+    static CompletableFuture<Map<?, ?>> contributeAsync(
+        AsyncGraphQLContextContributor contributor,
+        Map<String, Object> extensions,
+        DgsRequestData requestData
+    ) {
+        CompletableFuture<Map<?, ?>> contribution;
+        try {
+            // a copy, so that the timeout does not complete a future the contributor may share with other requests
+            contribution = contributor.contribute(extensions, requestData).toCompletableFuture().copy();
+        } catch (Exception ex) {
+            contribution = CompletableFuture.failedFuture(ex);
+        }
+        return contribution
+            .orTimeout(contributor.timeout().toNanos(), TimeUnit.NANOSECONDS)
+            .exceptionally(ex -> {
+                logger.warn("{} failed to contribute to the GraphQLContext, using its fallback", contributor.getClass().getName(), ex);
+                return contributor.fallback(ex);
+            })
+            .thenApply(entries -> withoutNulls(contributor, entries));
+    }
 
+    static Map<?, ?> withoutNulls(AsyncGraphQLContextContributor contributor, Map<?, ?> entries) {
+        if (entries == null) {
+            return Collections.emptyMap();
+        }
+        var result = new LinkedHashMap<Object, Object>();
+        entries.forEach((key, value) -> {
+            if (key == null || value == null) {
+                logger.warn("{} contributed a null {} to the GraphQLContext, which is skipped", contributor.getClass().getName(), key == null ? "key" : "value for " + key);
+            } else {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphQLContextContributorInstrumentation.class);
+
+}
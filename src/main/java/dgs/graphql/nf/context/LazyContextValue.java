@@ -0,0 +1,81 @@
+package dgs.graphql.nf.context;
+
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A GraphQLContext value that is computed when it is first read, instead of when the context is built.
+ * Contributors put a new instance into the GraphQLContext of each request, e.g.
+ * <pre>
+ * builder.put("profile", LazyContextValue.of(() -> profileService.lookup(requestData)));
+ * </pre>
+ * and data fetchers read it with {@link #get(DataFetchingEnvironment, Object)}, so the computation only happens for
+ * requests that need it. The value is computed at most once, also when it is read concurrently; if the computation
+ * fails, every read rethrows the same exception.
+ */
+public final class LazyContextValue<T> implements Supplier<T> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Supplier<? extends T> supplier;
+    private volatile boolean evaluated;
+    private T value;
+    private RuntimeException failure;
+
+    private LazyContextValue(Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    public static <T> LazyContextValue<T> of(Supplier<? extends T> supplier) {
+        return new LazyContextValue<>(supplier);
+    }
+
+    @Override
+    public T get() {
+        if (!evaluated) {
+            // a lock rather than synchronized, which would pin a virtual thread
+            lock.lock();
+            try {
+                if (!evaluated) {
+                    try {
+                        value = supplier.get();
+                    } catch (RuntimeException ex) {
+                        failure = ex;
+                    }
+                    supplier = null;
+                    evaluated = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return value;
+    }
+
+    public boolean isEvaluated() {
+        return evaluated;
+    }
+
+    /**
+     * Reads the value for the key from the GraphQLContext, evaluating it if it is a LazyContextValue.
+     */
+    public static <T> T get(GraphQLContext graphQLContext, Object key) {
+        Object value = graphQLContext.get(key);
+        return value instanceof LazyContextValue<?> lazyValue ? (T) lazyValue.get() : (T) value;
+    }
+
+    public static <T> T get(DataFetchingEnvironment dfe, Object key) {
+        return get(dfe.getGraphQlContext(), key);
+    }
+
+    @Override
+    public String toString() {
+        return evaluated ? "LazyContextValue[" + (failure != null ? failure : value) + "]" : "LazyContextValue[not evaluated]";
+    }
+
+}
@@ -25,7 +25,7 @@ public class ReactiveDgsContext extends DgsContext {
     }
 
     public static ReactiveDgsContext from(DataFetchingEnvironment dfe) {
-        return from(dfe.getGraphQlContext());
+        return (ReactiveDgsContext) DgsContext.from(dfe);
     }
 
 }
@@ -1,42 +1,114 @@
 package dgs.graphql.nf.exceptions;
 
+import graphql.GraphQLError;
 import graphql.execution.DataFetcherExceptionHandler;
 import graphql.execution.DataFetcherExceptionHandlerParameters;
 import graphql.execution.DataFetcherExceptionHandlerResult;
+import graphql.execution.ResultPath;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Converts data fetcher exceptions into GraphQL errors.
+ * <p>
+ * Logging is rate limited per exception class: at most maxLoggedPerInterval exceptions of a class are logged per
+ * logInterval, and the next one that is logged reports how many were suppressed. A [DgsException] is an expected error,
+ * and is logged at WARN without its stack trace; other exceptions are logged at ERROR with their stack trace.
+ * If a MeterRegistry is given, every error is counted in {@value #ERRORS_METRIC}, tagged with the path of the field
+ * (without list indices), the exception class and the error type.
+ */
 public class DefaultDataFetcherExceptionHandler implements DataFetcherExceptionHandler {
 
+    public static final String ERRORS_METRIC = "dgs.graphql.datafetcher.errors";
+
+    public static final int DEFAULT_MAX_LOGGED_PER_INTERVAL = 10;
+    public static final Duration DEFAULT_LOG_INTERVAL = Duration.ofMinutes(1);
+
+    private final ErrorLogRateLimiter logRateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    public DefaultDataFetcherExceptionHandler() {
+        this(DEFAULT_MAX_LOGGED_PER_INTERVAL, DEFAULT_LOG_INTERVAL, null);
+    }
+
+    /**
+     * @param maxLoggedPerInterval the number of exceptions of a class to log per interval, unlimited if negative
+     * @param meterRegistry        the registry for the error metrics, or null
+     */
+    public DefaultDataFetcherExceptionHandler(int maxLoggedPerInterval, Duration logInterval, MeterRegistry meterRegistry) {
+        this.logRateLimiter = new ErrorLogRateLimiter(maxLoggedPerInterval, logInterval);
+        this.meterRegistry = meterRegistry;
+    }
+
     public CompletableFuture<DataFetcherExceptionHandlerResult> handleException( DataFetcherExceptionHandlerParameters handlerParameters) {
         return CompletableFuture.completedFuture(this.doHandleException(handlerParameters));
     }
 
     DataFetcherExceptionHandlerResult doHandleException(DataFetcherExceptionHandlerParameters handlerParameters) {
         var exception = unwrapCompletionException(handlerParameters.getException());
-        logger.error(
-            "Exception while executing data fetcher for " + handlerParameters.getPath() + ": " + exception.getMessage(),
-            exception
-        );
+        var path = handlerParameters.getPath();
+        log(exception, path);
 
         var graphqlError = switch (exception) {
-            case DgsException dgsException -> dgsException.toGraphQlError(handlerParameters.getPath());
+            case DgsException dgsException -> dgsException.toGraphQlError(path);
             default -> ( isSpringSecurityAccessException(exception)
                 ? TypedGraphQLError.newPermissionDeniedBuilder() : TypedGraphQLError.newInternalErrorBuilder())
-                    .message("%s: %s", exception.getClass().getName(), exception.getMessage())
-                    .path(handlerParameters.getPath())
+                    .message(exception.getClass().getName() + ": " + exception.getMessage())
+                    .path(path)
                     .build();
         };
 
+        if (meterRegistry != null) {
+            countError(exception, path, graphqlError);
+        }
+
         return DataFetcherExceptionHandlerResult.newResult()
             .error(graphqlError)
             .build();
     }
 
+    void log(Throwable exception, ResultPath path) {
+        var suppressed = logRateLimiter.tryAcquire(exception.getClass());
+        if (suppressed < 0) {
+            return;
+        }
+        var suppressedMessage = suppressed > 0 ? " (" + suppressed + " more suppressed since the last one logged)" : "";
+        if (exception instanceof DgsException) {
+            logger.warn("Exception while executing data fetcher for {}: {}{}", path, exception.getMessage(), suppressedMessage);
+        } else {
+            logger.error(
+                "Exception while executing data fetcher for " + path + ": " + exception.getMessage() + suppressedMessage,
+                exception
+            );
+        }
+    }
+
+    void countError(Throwable exception, ResultPath path, GraphQLError graphqlError) {
+        var errorType = graphqlError.getExtensions() != null ? graphqlError.getExtensions().get("errorType") : null;
+        Counter.builder(ERRORS_METRIC)
+            .tag("path", "/" + String.join("/", path.getKeysOnly()))
+            .tag("exception", exception.getClass().getSimpleName())
+            .tag("errorType", String.valueOf(errorType))
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * The number of exceptions handled per exception class name.
+     */
+    public Map<String, Long> getExceptionCounts() {
+        return logRateLimiter.counts();
+    }
+
     Throwable unwrapCompletionException(Throwable e) {
         return (e instanceof CompletionException ce && ce.getCause() != null) ? ce.getCause() : e;
     }
@@ -58,4 +130,3 @@ public class DefaultDataFetcherExceptionHandler implements DataFetcherExceptionH
     }
 
 }
-
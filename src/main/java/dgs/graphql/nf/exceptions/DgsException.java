@@ -1,8 +1,20 @@
 package dgs.graphql.nf.exceptions;
 
 import graphql.execution.ResultPath;
+
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Base class of the exceptions that the framework converts to a [TypedGraphQLError].
+ * <p>
+ * DgsExceptions are often thrown on ordinary paths, e.g. for entities that are not found, where filling in the stack
+ * trace is the largest part of their cost. They can be made stackless, without a stack trace, for all DgsExceptions
+ * with {@link #setStackless(boolean)}, or per class with {@link #setStackless(Class, boolean)}; the setting of a class
+ * applies to its subclasses unless they have a setting of their own. [DgsExceptionStackTraces] configures them.
+ */
 public abstract class DgsException extends RuntimeException {
 
     public DgsException(String message, Exception cause, ErrorType errorType) {
@@ -15,21 +27,78 @@ public abstract class DgsException extends RuntimeException {
     }
 
     public TypedGraphQLError toGraphQlError(ResultPath path) {
-        var error = TypedGraphQLError.newBuilder();
-        if (path != null) {
-            error.path(path);
-        }
-        return error
-            .errorType(errorType)
-            .message(getMessage())
-            .extensions(Map.of(EXTENSION_CLASS_KEY, getClass().getName()))
-            .build();
+        var errorType = getErrorType();
+        var message = getMessage();
+        return new TypedGraphQLError(
+            message != null ? message : errorType.toString(),
+            Collections.emptyList(),
+            errorType,
+            path != null ? path.toList() : null,
+            EXTENSIONS.get(getClass()).get(errorType)
+        );
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        // called by the Throwable constructor, so this can only depend on the class
+        return isStackless(getClass()) ? this : super.fillInStackTrace();
     }
 
     private final ErrorType errorType;
 
     public static final String EXTENSION_CLASS_KEY = "class";
-    
+
     protected static String override(String m, String o) { return m != null && !m.isBlank() ? m : o; }
 
+    private static volatile boolean stackless = false;
+    private static final Map<Class<?>, Boolean> stacklessClasses = new ConcurrentHashMap<>();
+
+    /**
+     * Sets whether DgsExceptions are created without a stack trace, unless configured otherwise for their class.
+     */
+    public static void setStackless(boolean stackless) {
+        DgsException.stackless = stackless;
+    }
+
+    /**
+     * Sets whether exceptions of the class and its subclasses are created without a stack trace.
+     */
+    public static void setStackless(Class<? extends DgsException> exceptionClass, boolean stackless) {
+        stacklessClasses.put(exceptionClass, stackless);
+    }
+
+    /**
+     * Creates all DgsExceptions with a stack trace again.
+     */
+    public static void resetStackless() {
+        DgsException.stackless = false;
+        stacklessClasses.clear();
+    }
+
+    static boolean isStackless(Class<?> exceptionClass) {
+        if (!stacklessClasses.isEmpty()) {
+            for (var type = exceptionClass; type != null && type != RuntimeException.class; type = type.getSuperclass()) {
+                var value = stacklessClasses.get(type);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return stackless;
+    }
+
+    /**
+     * The error extensions are the same for every exception of a class and error type, so they are shared.
+     */
+    private static final ClassValue<Map<ErrorType, Map<String, Object>>> EXTENSIONS = new ClassValue<>() {
+        @Override
+        protected Map<ErrorType, Map<String, Object>> computeValue(Class<?> type) {
+            var extensions = new EnumMap<ErrorType, Map<String, Object>>(ErrorType.class);
+            for (var errorType : ErrorType.values()) {
+                extensions.put(errorType, Map.of(EXTENSION_CLASS_KEY, type.getName(), "errorType", String.valueOf(errorType)));
+            }
+            return extensions;
+        }
+    };
+
 }
@@ -0,0 +1,69 @@
+package dgs.graphql.nf.exceptions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Which DgsExceptions are created without a stack trace, see [DgsException]. The setting is global, since a stack trace
+ * is filled in before the exception is constructed; it is applied by {@link #apply()} and undone by {@link #reset()},
+ * e.g. when the application context that configured it is closed.
+ */
+public class DgsExceptionStackTraces {
+
+    private final boolean stackless;
+    private final List<Class<? extends DgsException>> stacklessClasses;
+    private final List<Class<? extends DgsException>> stackTraceClasses;
+
+    /**
+     * @param stackless         whether DgsExceptions are stackless, unless configured otherwise for their class
+     * @param stacklessClasses  the classes that are always stackless, with their subclasses
+     * @param stackTraceClasses the classes that always have a stack trace, with their subclasses
+     */
+    public DgsExceptionStackTraces(
+        boolean stackless,
+        List<Class<? extends DgsException>> stacklessClasses,
+        List<Class<? extends DgsException>> stackTraceClasses
+    ) {
+        this.stackless = stackless;
+        this.stacklessClasses = List.copyOf(stacklessClasses);
+        this.stackTraceClasses = List.copyOf(stackTraceClasses);
+    }
+
+    /**
+     * Loads the classes by name; a class that does not exist or is not a DgsException is an
+     * [InvalidDgsConfigurationException].
+     */
+    public static DgsExceptionStackTraces of(boolean stackless, List<String> stacklessClasses, List<String> stackTraceClasses) {
+        return new DgsExceptionStackTraces(stackless, exceptionClasses(stacklessClasses), exceptionClasses(stackTraceClasses));
+    }
+
+    public void apply() {
+        DgsException.setStackless(stackless);
+        stacklessClasses.forEach(it -> DgsException.setStackless(it, true));
+        stackTraceClasses.forEach(it -> DgsException.setStackless(it, false));
+    }
+
+    public void reset() {
+        DgsException.resetStackless();
+    }
+
+    static List<Class<? extends DgsException>> exceptionClasses(List<String> classNames) {
+        var classes = new ArrayList<Class<? extends DgsException>>();
+        for (var className : classNames) {
+            Class<?> type;
+            try {
+                type = Class.forName(className.trim());
+            } catch (ClassNotFoundException e) {
+                throw new InvalidDgsConfigurationException("The exception class " + className.trim() + " does not exist");
+            }
+            if (!DgsException.class.isAssignableFrom(type)) {
+                throw new InvalidDgsConfigurationException(
+                    "The exception class " + type.getName() + " is not a " + DgsException.class.getName()
+                );
+            }
+            classes.add(type.asSubclass(DgsException.class));
+        }
+        return classes;
+    }
+
+}
@@ -0,0 +1,12 @@
+package dgs.graphql.nf.exceptions;
+
+/**
+ * The map of a multipart request does not match its variables or its file parts.
+ */
+public class DgsMultipartMappingException extends DgsBadRequestException {
+
+    public DgsMultipartMappingException(String message) {
+        super(message);
+    }
+
+}
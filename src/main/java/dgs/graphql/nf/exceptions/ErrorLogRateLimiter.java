@@ -0,0 +1,65 @@
+package dgs.graphql.nf.exceptions;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Limits the number of exceptions of each class that are logged per interval, and counts the exceptions of each class.
+ */
+final class ErrorLogRateLimiter {
+
+    private final int maxPerInterval;
+    private final long intervalNanos;
+    private final Map<Class<?>, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxPerInterval the number of exceptions of a class to log per interval, unlimited if negative
+     */
+    ErrorLogRateLimiter(int maxPerInterval, Duration interval) {
+        this.maxPerInterval = maxPerInterval;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    static final class Window {
+        final LongAdder total = new LongAdder();
+        final AtomicLong start = new AtomicLong(System.nanoTime());
+        final AtomicInteger logged = new AtomicInteger();
+        final AtomicLong suppressed = new AtomicLong();
+    }
+
+    /**
+     * Counts an exception of the given class.
+     *
+     * @return -1 if the exception should not be logged, otherwise the number of exceptions of the class that were not
+     * logged since the last one that was.
+     */
+    long tryAcquire(Class<?> exceptionClass) {
+        var window = windows.computeIfAbsent(exceptionClass, it -> new Window());
+        window.total.increment();
+        if (maxPerInterval < 0) {
+            return 0;
+        }
+        var now = System.nanoTime();
+        var start = window.start.get();
+        if (now - start >= intervalNanos && window.start.compareAndSet(start, now)) {
+            window.logged.set(0);
+        }
+        if (window.logged.incrementAndGet() <= maxPerInterval) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return -1;
+    }
+
+    /** The number of exceptions counted per exception class name. */
+    Map<String, Long> counts() {
+        return windows.entrySet().stream()
+            .collect(Collectors.toMap(it -> it.getKey().getName(), it -> it.getValue().total.sum()));
+    }
+
+}
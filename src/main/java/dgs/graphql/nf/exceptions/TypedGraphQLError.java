@@ -169,8 +169,13 @@ public class TypedGraphQLError implements GraphQLError {
             return extensionsMap;
         }
 
+        /**
+         * Sets the message, formatted with {@link String#format} if there are formatArgs.
+         */
         public Builder message(String message, Object... formatArgs) {
-            this.message = String.format(assertNotNull(message), formatArgs);
+            this.message = formatArgs == null || formatArgs.length == 0
+                ? assertNotNull(message)
+                : String.format(assertNotNull(message), formatArgs);
             return this;
         }
 
@@ -34,6 +34,8 @@ import dgs.graphql.nf.context.DgsContext;
 import dgs.graphql.nf.exceptions.DgsBadRequestException;
 import dgs.graphql.nf.support.Kt;
 
+import org.dataloader.DataLoaderRegistry;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,26 +74,60 @@ public class BaseDgsQueryExecutor {
         ExecutionStrategy mutationExecutionStrategy,
         Optional<ExecutionIdProvider> idProvider,
         PreparsedDocumentProvider preparsedDocumentProvider
+    ) {
+        if (query == null || query.isBlank()) {
+            return emptyQueryResult();
+        }
+
+        var timings = new DgsExecutionTimings(System.nanoTime());
+        var graphQLContextFuture = new CompletableFuture<GraphQLContext>();
+        var dataLoaderRegistry = dataLoaderProvider.buildRegistryWithContextSupplier(() -> Kt.call(() -> graphQLContextFuture.get()));
+        timings.setDataLoaderRegistryNanos(System.nanoTime() - timings.getRequestStartNanos());
+
+        return baseExecute(
+            query,
+            variables,
+            extensions,
+            operationName,
+            dgsContext,
+            graphQLSchema,
+            dataLoaderRegistry,
+            graphQLContextFuture,
+            instrumentation,
+            queryExecutionStrategy,
+            mutationExecutionStrategy,
+            idProvider,
+            preparsedDocumentProvider,
+            timings
+        );
+    }
+
+    /**
+     * Executes with the given data loader registry, which may be shared by several executions of the same request.
+     * The graphQLContextFuture is the context supplier of the registry's loaders; it is completed with the GraphQLContext
+     * of the first execution that uses it.
+     * The timings, if not null, are made available to instrumentations in the GraphQLContext.
+     */
+    public CompletableFuture<ExecutionResult> baseExecute(
+        String query,
+        Map<String, Object> variables,
+        Map<String, Object> extensions,
+        String operationName,
+        DgsContext dgsContext,
+        GraphQLSchema graphQLSchema,
+        DataLoaderRegistry dataLoaderRegistry,
+        CompletableFuture<GraphQLContext> graphQLContextFuture,
+        Instrumentation instrumentation,
+        ExecutionStrategy queryExecutionStrategy,
+        ExecutionStrategy mutationExecutionStrategy,
+        Optional<ExecutionIdProvider> idProvider,
+        PreparsedDocumentProvider preparsedDocumentProvider,
+        DgsExecutionTimings timings
     ) {
         var inputVariables = variables != null ? variables : Collections.EMPTY_MAP;
 
         if (query == null || query.isBlank()) {
-            return CompletableFuture.completedFuture(
-                DgsExecutionResult
-                    .builder()
-                    .status(HttpStatus.BAD_REQUEST)
-                    .executionResult(
-                        ExecutionResultImpl
-                            .newExecutionResult()
-                            .errors(
-                                List.of(
-                                    DgsBadRequestException
-                                        .NULL_OR_EMPTY_QUERY_EXCEPTION
-                                        .toGraphQlError(null)
-                                )
-                            )
-                        ).build()
-                );
+            return emptyQueryResult();
         }
 
         var graphQLBuilder =
@@ -104,8 +140,6 @@ public class BaseDgsQueryExecutor {
         if (idProvider.isPresent()) graphQLBuilder.executionIdProvider(idProvider.get());
 
         var graphQL = graphQLBuilder.build();
-        var graphQLContextFuture = new CompletableFuture<GraphQLContext>();
-        var dataLoaderRegistry = dataLoaderProvider.buildRegistryWithContextSupplier(() -> Kt.call(() -> graphQLContextFuture.get()));
 
         try {
             var executionInput = ExecutionInput.newExecutionInput()
@@ -113,10 +147,13 @@ public class BaseDgsQueryExecutor {
                 .operationName(operationName)
                 .variables(inputVariables)
                 .dataLoaderRegistry(dataLoaderRegistry)
-                .context(dgsContext) // Deprecated
+                .context(dgsContext) // Deprecated, but it is the fast path of DgsContext.from
                 .graphQLContext(dgsContext)
                 .extensions((extensions != null ? extensions : Collections.EMPTY_MAP))
                 .build();
+            if (timings != null) {
+                timings.putIn(executionInput.getGraphQLContext());
+            }
             graphQLContextFuture.complete(executionInput.getGraphQLContext());
             return graphQL.executeAsync(executionInput);
         }
@@ -127,5 +164,24 @@ public class BaseDgsQueryExecutor {
         }
     }
 
+    CompletableFuture<ExecutionResult> emptyQueryResult() {
+        return CompletableFuture.completedFuture(
+            DgsExecutionResult
+                .builder()
+                .status(HttpStatus.BAD_REQUEST)
+                .executionResult(
+                    ExecutionResultImpl
+                        .newExecutionResult()
+                        .errors(
+                            List.of(
+                                DgsBadRequestException
+                                    .NULL_OR_EMPTY_QUERY_EXCEPTION
+                                    .toGraphQlError(null)
+                            )
+                        )
+                    ).build()
+            );
+    }
+
 }
 
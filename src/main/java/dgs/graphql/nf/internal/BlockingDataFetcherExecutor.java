@@ -0,0 +1,69 @@
+package dgs.graphql.nf.internal;
+
+import graphql.schema.DataFetcher;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import dgs.graphql.nf.DgsBlocking;
+import dgs.graphql.nf.support.Kt;
+
+/**
+ * Runs blocking data fetchers on a virtual thread per invocation.
+ * The number of blocking data fetchers running at the same time for one request is bounded,
+ * to protect downstream services from a single query with a large fan-out.
+ */
+public class BlockingDataFetcherExecutor implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final int maxConcurrencyPerRequest;
+    private final boolean offloadAll;
+
+    /**
+     * @param maxConcurrencyPerRequest the maximum number of blocking data fetchers that run concurrently for one request
+     * @param offloadAll               if true every synchronous data fetcher is treated as blocking, unless it is marked @DgsBlocking(false)
+     */
+    public BlockingDataFetcherExecutor(ExecutorService executor, int maxConcurrencyPerRequest, boolean offloadAll) {
+        if (maxConcurrencyPerRequest < 1) {
+            throw new IllegalArgumentException("maxConcurrencyPerRequest must be positive, was " + maxConcurrencyPerRequest);
+        }
+        this.executor = executor;
+        this.maxConcurrencyPerRequest = maxConcurrencyPerRequest;
+        this.offloadAll = offloadAll;
+    }
+
+    public static BlockingDataFetcherExecutor virtualThreads(int maxConcurrencyPerRequest, boolean offloadAll) {
+        return new BlockingDataFetcherExecutor(Executors.newVirtualThreadPerTaskExecutor(), maxConcurrencyPerRequest, offloadAll);
+    }
+
+    public boolean isBlocking(Method method) {
+        var annotation = method.getAnnotation(DgsBlocking.class);
+        return annotation != null ? annotation.value() : offloadAll;
+    }
+
+    public DataFetcher<Object> offload(DataFetcher<Object> dataFetcher) {
+        return env -> {
+            var permits = env.getGraphQlContext().<Semaphore>computeIfAbsent(GraphQLContextKey.BLOCKING_DATA_FETCHER_PERMITS, k -> new Semaphore(maxConcurrencyPerRequest));
+            return CompletableFuture.supplyAsync(() -> {
+                // blocking here parks the virtual thread only
+                permits.acquireUninterruptibly();
+                try {
+                    return Kt.call(() -> dataFetcher.get(env));
+                } finally {
+                    permits.release();
+                }
+            }, executor);
+        };
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private enum GraphQLContextKey { BLOCKING_DATA_FETCHER_PERMITS }
+
+}
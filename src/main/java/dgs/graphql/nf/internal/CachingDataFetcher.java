@@ -0,0 +1,166 @@
+package dgs.graphql.nf.internal;
+
+import graphql.execution.DataFetcherResult;
+import graphql.language.Argument;
+import graphql.language.FieldDefinition;
+import graphql.language.IntValue;
+import graphql.language.StringValue;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.PropertyDataFetcher;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import dgs.graphql.nf.DgsCached;
+
+/**
+ * Memoizes the results of a data fetcher per parent and arguments; see [DgsCached].
+ * <p>
+ * An entry holds the future of the result from the first fetch; fetches of the same key that come while it is
+ * pending return that future, instead of calling the data fetcher again. The entry expires ttl after the result
+ * completes, and is removed if it completes with an error, or with a DataFetcherResult that has errors. The entries
+ * are kept in a map that evicts the least recently used beyond maxSize.
+ */
+public class CachingDataFetcher implements DataFetcher<Object> {
+
+    public static final String CACHED_DIRECTIVE = "cached";
+
+    /**
+     * The cache settings of a field, from its @cached directive or [DgsCached] annotation.
+     */
+    public record Settings(long ttlNanos, int maxSize, String parentKey) {
+
+        /** The settings of the @cached directive of the field, else of the annotation, or null if neither is present. */
+        public static Settings of(FieldDefinition fieldDefinition, DgsCached annotation) {
+            var directive = fieldDefinition != null && fieldDefinition.hasDirective(CACHED_DIRECTIVE)
+                ? fieldDefinition.getDirectives(CACHED_DIRECTIVE).get(0)
+                : null;
+            if (directive == null && annotation == null) {
+                return null;
+            }
+            var ttlSeconds = annotation != null ? annotation.ttlSeconds() : 60;
+            var maxSize = annotation != null ? annotation.maxSize() : 1000;
+            var parentKey = annotation != null ? annotation.parentKey() : "id";
+            if (directive != null) {
+                ttlSeconds = intArgument(directive.getArgument("ttl"), ttlSeconds);
+                maxSize = (int) intArgument(directive.getArgument("maxSize"), maxSize);
+                if (directive.getArgument("parentKey") != null && directive.getArgument("parentKey").getValue() instanceof StringValue value) {
+                    parentKey = value.getValue();
+                }
+            }
+            return new Settings(TimeUnit.SECONDS.toNanos(ttlSeconds), maxSize, parentKey);
+        }
+
+        static long intArgument(Argument argument, long defaultValue) {
+            return argument != null && argument.getValue() instanceof IntValue value ? value.getValue().longValue() : defaultValue;
+        }
+    }
+
+    record Key(Object parent, Map<String, Object> arguments) {}
+
+    static final class Entry {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        // pending entries don't expire
+        volatile long expiresAtNanos = Long.MAX_VALUE;
+
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos > 0 && expiresAtNanos != Long.MAX_VALUE;
+        }
+    }
+
+    private final DataFetcher<Object> dataFetcher;
+    private final Settings settings;
+    private final DataFetcher<Object> parentKey;
+    private final Map<Key, Entry> entries;
+
+    public CachingDataFetcher(DataFetcher<Object> dataFetcher, Settings settings) {
+        this.dataFetcher = dataFetcher;
+        this.settings = settings;
+        this.parentKey = PropertyDataFetcher.fetching(settings.parentKey());
+        var maxSize = settings.maxSize();
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment env) throws Exception {
+        var key = key(env);
+        if (key == null) {
+            return dataFetcher.get(env);
+        }
+        var now = System.nanoTime();
+        var entry = entries.get(key);
+        if (entry != null && !entry.isExpired(now)) {
+            return cached(entry);
+        }
+
+        var created = new Entry();
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || entry.isExpired(now)) {
+                entries.put(key, created);
+                entry = created;
+            }
+        }
+        if (entry != created) {
+            return cached(entry);
+        }
+
+        Object result;
+        try {
+            result = dataFetcher.get(env);
+        } catch (Exception e) {
+            entries.remove(key, created);
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((value, error) -> complete(key, created, value, error));
+        } else {
+            complete(key, created, result, null);
+        }
+        return result;
+    }
+
+    /** The parent and arguments of the fetch, or null if the parent has no key, so the result is not cached. */
+    Key key(DataFetchingEnvironment env) throws Exception {
+        var source = env.getSource();
+        Object parent = null;
+        if (source != null && !DgsSchemaProvider.ROOT_TYPES.contains(env.getExecutionStepInfo().getObjectType().getName())) {
+            parent = parentKey.get(env);
+            if (parent == null) {
+                return null;
+            }
+        }
+        return new Key(parent, env.getArguments());
+    }
+
+    void complete(Key key, Entry entry, Object value, Throwable error) {
+        if (error != null || (value instanceof DataFetcherResult<?> dataFetcherResult && dataFetcherResult.hasErrors())) {
+            entries.remove(key, entry);
+        } else {
+            entry.expiresAtNanos = System.nanoTime() + settings.ttlNanos();
+        }
+        if (error != null) {
+            entry.result.completeExceptionally(error);
+        } else {
+            entry.result.complete(value);
+        }
+    }
+
+    static Object cached(Entry entry) {
+        var result = entry.result;
+        // a completed result is returned as a plain value, so the field is not completed asynchronously
+        return result.isDone() && !result.isCompletedExceptionally() ? result.join() : result;
+    }
+
+}
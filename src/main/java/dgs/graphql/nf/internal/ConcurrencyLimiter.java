@@ -0,0 +1,219 @@
+package dgs.graphql.nf.internal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Limits the number of concurrent executions per operation name, and per client if a clientHeader is given, with a
+ * limit that adapts to the latency of the executions.
+ * <p>
+ * The limit follows a gradient: every completed execution is compared with the long-term average latency of its key.
+ * While executions are as fast as usual, the limit grows by roughly the square root of the limit; when they get
+ * slower, i.e. requests start to queue for shared resources, it shrinks in proportion, down to half per sample.
+ * The limit only grows while it is used, i.e. when at least half of it is in flight. Executions over the limit are
+ * rejected right away instead of being queued.
+ * <p>
+ * At most maxKeys keys get a limit of their own; the executions of other keys share the limit of {@value #OTHER_KEY},
+ * so that arbitrary operation names cannot grow the number of limits and meters. Since the operation name is chosen by
+ * the client, each client gets at most maxKeysPerClient operations of its own, and its other operations share a
+ * {@value #OTHER_KEY} limit of the client, so that one client cannot use up the keys of the others. If a MeterRegistry is given, the
+ * limit and the number of executions in flight are published as {@value #LIMIT_METRIC} and {@value #INFLIGHT_METRIC}
+ * gauges, and the rejections are counted in {@value #REJECTIONS_METRIC}, tagged with the operation and client.
+ */
+public class ConcurrencyLimiter {
+
+    public static final String LIMIT_METRIC = "dgs.graphql.concurrency.limit";
+    public static final String INFLIGHT_METRIC = "dgs.graphql.concurrency.inflight";
+    public static final String REJECTIONS_METRIC = "dgs.graphql.concurrency.rejections";
+
+    public static final String ANONYMOUS_OPERATION = "anonymous";
+    public static final String OTHER_KEY = "other";
+
+    static final double LONG_WINDOW = 600;
+    static final double SMOOTHING = 0.2;
+    // tolerated increase of the latency before the limit shrinks
+    static final double RTT_TOLERANCE = 1.5;
+
+    record Key(String operation, String client) {}
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final String clientHeader;
+    private final int maxKeys;
+    private final int maxKeysPerClient;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, KeyLimit> limits = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> clientKeys = new ConcurrentHashMap<>();
+
+    /**
+     * @param clientHeader     the request header that identifies the client, or null to limit per operation only
+     * @param maxKeys          the number of operation and client combinations that get a limit of their own
+     * @param maxKeysPerClient the number of operations of a client that get a limit of their own
+     * @param meterRegistry    the registry for the limiter metrics, or null
+     */
+    public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, String clientHeader, int maxKeys, int maxKeysPerClient, MeterRegistry meterRegistry) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException(
+                "Expected 1 <= minLimit <= initialLimit <= maxLimit, but was " + minLimit + ", " + initialLimit + ", " + maxLimit
+            );
+        }
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.clientHeader = clientHeader;
+        this.maxKeys = maxKeys;
+        this.maxKeysPerClient = maxKeysPerClient;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * A permit to execute, which must be released exactly once when the execution completes.
+     */
+    public static final class Permit {
+        private final KeyLimit limit;
+        private final long startNanos;
+
+        Permit(KeyLimit limit, long startNanos) {
+            this.limit = limit;
+            this.startNanos = startNanos;
+        }
+
+        public void release() {
+            limit.release(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Acquires a permit for the operation, or returns null if the limit of its key is reached.
+     */
+    public Permit tryAcquire(String operationName, HttpHeaders headers) {
+        var limit = limitFor(key(operationName, headers));
+        if (!limit.tryAcquire()) {
+            if (limit.rejections != null) limit.rejections.increment();
+            return null;
+        }
+        return new Permit(limit, System.nanoTime());
+    }
+
+    /** The current limit of the operation and client. */
+    public int getLimit(String operationName, HttpHeaders headers) {
+        return limitFor(key(operationName, headers)).limit();
+    }
+
+    Key key(String operationName, HttpHeaders headers) {
+        var operation = operationName != null && !operationName.isBlank() ? operationName : ANONYMOUS_OPERATION;
+        String client = null;
+        if (clientHeader != null) {
+            var value = headers != null ? headers.getFirst(clientHeader) : null;
+            client = value != null ? value : ANONYMOUS_OPERATION;
+        }
+        return new Key(operation, client);
+    }
+
+    KeyLimit limitFor(Key key) {
+        var limit = limits.get(key);
+        if (limit != null) {
+            return limit;
+        }
+        if (limits.size() >= maxKeys) {
+            key = new Key(OTHER_KEY, clientHeader != null ? OTHER_KEY : null);
+        } else if (key.client() != null) {
+            var keysOfClient = clientKeys.get(key.client());
+            if (keysOfClient != null && keysOfClient.get() >= maxKeysPerClient) {
+                key = new Key(OTHER_KEY, key.client());
+            }
+        }
+        return limits.computeIfAbsent(key, this::newLimit);
+    }
+
+    KeyLimit newLimit(Key key) {
+        if (key.client() != null && !OTHER_KEY.equals(key.operation())) {
+            clientKeys.computeIfAbsent(key.client(), it -> new AtomicInteger()).incrementAndGet();
+        }
+        var limit = new KeyLimit(initialLimit, minLimit, maxLimit);
+        if (meterRegistry != null) {
+            var tags = key.client() != null
+                ? new String[] {"operation", key.operation(), "client", key.client()}
+                : new String[] {"operation", key.operation()};
+            Gauge.builder(LIMIT_METRIC, limit, KeyLimit::limit).tags(tags).register(meterRegistry);
+            Gauge.builder(INFLIGHT_METRIC, limit.inflight, AtomicInteger::get).tags(tags).register(meterRegistry);
+            limit.rejections = Counter.builder(REJECTIONS_METRIC).tags(tags).register(meterRegistry);
+        }
+        return limit;
+    }
+
+    /**
+     * The adaptive limit of a key. Acquiring only reads the limit; it is updated under the lock when executions complete.
+     */
+    static final class KeyLimit {
+        final AtomicInteger inflight = new AtomicInteger();
+        private final int minLimit;
+        private final int maxLimit;
+        private volatile int limit;
+        private double estimatedLimit;
+        private double longRttNanos;
+        private long samples;
+        Counter rejections;
+
+        KeyLimit(int initialLimit, int minLimit, int maxLimit) {
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.limit = initialLimit;
+            this.estimatedLimit = initialLimit;
+        }
+
+        int limit() {
+            return limit;
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                var current = inflight.get();
+                if (current >= limit) {
+                    return false;
+                }
+                if (inflight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release(long rttNanos) {
+            var inflightAtCompletion = inflight.getAndDecrement();
+            update(rttNanos, inflightAtCompletion);
+        }
+
+        synchronized void update(long rttNanos, int inflightAtCompletion) {
+            if (rttNanos <= 0) {
+                return;
+            }
+            samples++;
+            // a plain average until the window is filled, so the first samples are not biased towards zero
+            var window = Math.min(samples, (long) LONG_WINDOW);
+            longRttNanos += (rttNanos - longRttNanos) / window;
+            // recover from a long run of slow executions faster than the window would
+            if (longRttNanos > rttNanos * 2) {
+                longRttNanos *= 0.95;
+            }
+            // don't grow a limit that is not used
+            if (inflightAtCompletion < estimatedLimit / 2) {
+                return;
+            }
+            var gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / rttNanos));
+            var queueSize = Math.sqrt(estimatedLimit);
+            var newLimit = estimatedLimit * gradient + queueSize;
+            newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+            limit = (int) estimatedLimit;
+        }
+    }
+
+}
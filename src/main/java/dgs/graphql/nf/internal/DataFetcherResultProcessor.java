@@ -6,5 +6,13 @@ public interface DataFetcherResultProcessor {
 
     boolean supportsType(Object originalResult);
     Object process(Object originalResult, DgsDataFetchingEnvironment dfe);
-}
 
+    /**
+     * Whether a value returned by a data fetcher method declared with the given return type could be supported.
+     * This is evaluated once per method when the schema is wired; processors that can not apply are never consulted
+     * for that data fetcher. The default is conservative and leaves the decision to [supportsType] for every result.
+     */
+    default boolean supportsReturnType(Class<?> returnType) {
+        return true;
+    }
+}
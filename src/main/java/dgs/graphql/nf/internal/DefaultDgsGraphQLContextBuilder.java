@@ -26,6 +26,10 @@ public class DefaultDgsGraphQLContextBuilder {
     }
 
     public DgsContext build(DgsWebMvcRequestData dgsRequestData) {
+        // checked here as well to avoid capturing the lambda
+        if (!logger.isDebugEnabled()) {
+            return buildDgsContext(dgsRequestData);
+        }
         return TimeTracer.INSTANCE.logTime(() -> buildDgsContext(dgsRequestData), logger, "Created DGS context in {}ms");
     }
 
@@ -34,7 +38,7 @@ public class DefaultDgsGraphQLContextBuilder {
             dgsCustomContextBuilderWithRequest.isPresent() ?
                 dgsCustomContextBuilderWithRequest.get().build(
                     (dgsRequestData.extensions() != null ? dgsRequestData.extensions() : Collections.EMPTY_MAP),
-                    HttpHeaders.readOnlyHttpHeaders(dgsRequestData.headers() != null ? dgsRequestData.headers() : new HttpHeaders()),
+                    dgsRequestData.headers() != null ? HttpHeaders.readOnlyHttpHeaders(dgsRequestData.headers()) : HttpHeaders.EMPTY,
                     dgsRequestData.webRequest()
                 )
             : dgsCustomContextBuilder.isPresent() ? dgsCustomContextBuilder.get().build()
@@ -46,7 +50,7 @@ public class DefaultDgsGraphQLContextBuilder {
         );
     }
 
-    private static Logger logger = LoggerFactory.getLogger(DefaultDgsGraphQLContextBuilder.class);
+    private static final Logger logger = LoggerFactory.getLogger(DefaultDgsGraphQLContextBuilder.class);
 
     public record DgsWebMvcRequestData(
         Map<String, Object> extensions,
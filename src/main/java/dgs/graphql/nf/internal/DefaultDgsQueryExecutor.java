@@ -6,34 +6,62 @@ import com.jayway.jsonpath.TypeRef;
 import com.jayway.jsonpath.spi.mapper.MappingException;
 
 import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphQLContext;
 import graphql.execution.ExecutionIdProvider;
 import graphql.execution.ExecutionStrategy;
 import graphql.execution.NonNullableFieldWasNullError;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.language.OperationDefinition;
 import graphql.schema.GraphQLSchema;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
+import dgs.graphql.nf.DgsExecutionResult;
+import dgs.graphql.nf.DgsIncrementalExecutionResult;
 import dgs.graphql.nf.DgsQueryExecutor;
+import dgs.graphql.nf.context.DgsContext;
+import dgs.graphql.nf.exceptions.DgsBadRequestException;
 import dgs.graphql.nf.exceptions.DgsQueryExecutionDataExtractionException;
+import dgs.graphql.nf.exceptions.ErrorDetail;
+import dgs.graphql.nf.exceptions.TypedGraphQLError;
 import dgs.graphql.nf.internal.DefaultDgsGraphQLContextBuilder.DgsWebMvcRequestData;
 import dgs.graphql.nf.exceptions.QueryException;
 import dgs.graphql.nf.support.Kt;
 import static dgs.graphql.nf.internal.BaseDgsQueryExecutor.*;
 
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+
+import org.reactivestreams.Publisher;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 /**
  * Main Query executing functionality. This should be reused between different transport protocols and the testing framework.
  */
@@ -51,6 +79,14 @@ public class DefaultDgsQueryExecutor implements DgsQueryExecutor {
     private final PreparsedDocumentProvider preparsedDocumentProvider;
     private final QueryValueCustomizer queryValueCustomizer;
     private final DgsQueryExecutorRequestCustomizer requestCustomizer;
+    private final SubscriptionBackpressure subscriptionBackpressure;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final ResponseCache responseCache;
+    private final SingleFlight singleFlight;
+    private final OperationAllowList allowList;
+    private final Executor deferredExecutor;
+    private final ParsedDocuments parsedDocuments;
+    private final int maxBatchOperations;
 
     public DefaultDgsQueryExecutor(
         GraphQLSchema defaultSchema,
@@ -65,6 +101,41 @@ public class DefaultDgsQueryExecutor implements DgsQueryExecutor {
         PreparsedDocumentProvider preparsedDocumentProvider,
         QueryValueCustomizer queryValueCustomizer,
         DgsQueryExecutorRequestCustomizer requestCustomizer
+    ) {
+        this(
+            defaultSchema,
+            schemaProvider,
+            dataLoaderProvider,
+            contextBuilder,
+            instrumentation,
+            queryExecutionStrategy,
+            mutationExecutionStrategy,
+            idProvider,
+            reloadIndicator,
+            preparsedDocumentProvider,
+            queryValueCustomizer,
+            requestCustomizer,
+            options()
+        );
+    }
+
+    /**
+     * @param options the optional features of the executor, see [Options]
+     */
+    public DefaultDgsQueryExecutor(
+        GraphQLSchema defaultSchema,
+        DgsSchemaProvider schemaProvider,
+        DgsDataLoaderProvider dataLoaderProvider,
+        DefaultDgsGraphQLContextBuilder contextBuilder,
+        Instrumentation instrumentation,
+        ExecutionStrategy queryExecutionStrategy,
+        ExecutionStrategy mutationExecutionStrategy,
+        Optional<ExecutionIdProvider> idProvider,
+        ReloadSchemaIndicator reloadIndicator,
+        PreparsedDocumentProvider preparsedDocumentProvider,
+        QueryValueCustomizer queryValueCustomizer,
+        DgsQueryExecutorRequestCustomizer requestCustomizer,
+        Options options
     ) {
         this.schemaProvider = schemaProvider;
         this.dataLoaderProvider = dataLoaderProvider;
@@ -74,16 +145,106 @@ public class DefaultDgsQueryExecutor implements DgsQueryExecutor {
         this.mutationExecutionStrategy = mutationExecutionStrategy;
         this.idProvider = idProvider;
         this.reloadIndicator = reloadIndicator;
-        this.preparsedDocumentProvider = preparsedDocumentProvider;
+        this.preparsedDocumentProvider = options.allowList != null ? options.allowList : preparsedDocumentProvider;
         this.queryValueCustomizer = queryValueCustomizer;
         this.requestCustomizer = requestCustomizer;
+        this.subscriptionBackpressure = options.subscriptionBackpressure;
+        this.concurrencyLimiter = options.concurrencyLimiter;
+        this.responseCache = options.responseCache;
+        this.singleFlight = options.singleFlight;
+        this.allowList = options.allowList;
+        this.deferredExecutor = options.deferredExecutor != null ? options.deferredExecutor : DEFERRED_OPERATIONS;
+        this.parsedDocuments = options.parsedDocuments != null ? options.parsedDocuments : new ParsedDocuments(ParsedDocuments.DEFAULT_MAX_ENTRIES);
+        this.maxBatchOperations = options.maxBatchOperations;
         this.schema = new AtomicReference<GraphQLSchema>(defaultSchema);
     }
 
+    public static final int DEFAULT_MAX_BATCH_OPERATIONS = 20;
+
+    // virtual threads, which blocking data fetchers of deferred operations cannot starve
+    static final Executor DEFERRED_OPERATIONS = Executors.newVirtualThreadPerTaskExecutor();
+
+    public static Options options() {
+        return new Options();
+    }
+
+    /**
+     * The optional features of a [DefaultDgsQueryExecutor]; all of them are off unless they are set.
+     */
+    public static class Options {
+
+        private SubscriptionBackpressure subscriptionBackpressure = SubscriptionBackpressure.DEFAULT;
+        private ConcurrencyLimiter concurrencyLimiter;
+        private ResponseCache responseCache;
+        private SingleFlight singleFlight;
+        private OperationAllowList allowList;
+        private Executor deferredExecutor;
+        private ParsedDocuments parsedDocuments;
+        private int maxBatchOperations = DEFAULT_MAX_BATCH_OPERATIONS;
+
+        /** How the results of subscriptions are buffered, see [SubscriptionBackpressure]. */
+        public Options subscriptionBackpressure(SubscriptionBackpressure subscriptionBackpressure) {
+            this.subscriptionBackpressure = subscriptionBackpressure;
+            return this;
+        }
+
+        /** Limits the concurrent executions per operation, or null for no limit. */
+        public Options concurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+            this.concurrencyLimiter = concurrencyLimiter;
+            return this;
+        }
+
+        /** Caches the results of queries, or null. */
+        public Options responseCache(ResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /** Coalesces identical queries that are in flight, or null. */
+        public Options singleFlight(SingleFlight singleFlight) {
+            this.singleFlight = singleFlight;
+            return this;
+        }
+
+        /** The only operations that are executed, or null to execute any; it replaces the PreparsedDocumentProvider. */
+        public Options allowList(OperationAllowList allowList) {
+            this.allowList = allowList;
+            return this;
+        }
+
+        /** Runs the deferred operations of @defer queries, or null for a virtual thread per operation. */
+        public Options deferredExecutor(Executor deferredExecutor) {
+            this.deferredExecutor = deferredExecutor;
+            return this;
+        }
+
+        /** The parsed documents of queries, shared with the other layers, or null for a cache of the executor's own. */
+        public Options parsedDocuments(ParsedDocuments parsedDocuments) {
+            this.parsedDocuments = parsedDocuments;
+            return this;
+        }
+
+        /** The number of operations a batch may have; larger batches are rejected. */
+        public Options maxBatchOperations(int maxBatchOperations) {
+            this.maxBatchOperations = maxBatchOperations;
+            return this;
+        }
+    }
+
     public final AtomicReference<GraphQLSchema> getSchema() {
         return this.schema;
     }
 
+    /**
+     * With a [ResponseCache], a cached result of a query is returned before anything else is done, and the results of
+     * queries get the Cache-Control header of their policy. With a [SingleFlight], a query that is identical to one in
+     * flight waits for its result instead of executing. With a [ConcurrencyLimiter], an execution over the limit of
+     * its operation is rejected with a TOO_MANY_REQUESTS result before its DgsContext is built. With an
+     * [OperationAllowList], the request is resolved to a precompiled operation first, which is executed instead of the
+     * query, without the QueryValueCustomizer; any other request is rejected with a BAD_REQUEST result.
+     * Without a webRequest, the request of the current thread is used, for the DgsContext as well as for deciding
+     * whether the request is personalized.
+     */
     @Override
     public ExecutionResult execute(
         String query,
@@ -93,35 +254,414 @@ public class DefaultDgsQueryExecutor implements DgsQueryExecutor {
         String operationName,
         WebRequest webRequest
     ) {
-        var graphQLSchema = reloadIndicator.reloadSchema()
-            ? schema.updateAndGet(it -> schemaProvider.schema(null,null))
-            : schema.get();
+        var request = effectiveRequest(webRequest);
+        var graphQLSchema = currentSchema();
+        String customizedQuery;
+        if (allowList != null) {
+            var operation = allowList.resolve(query, extensions);
+            if (operation == null) {
+                return unknownOperation();
+            }
+            customizedQuery = operation.query();
+        } else {
+            customizedQuery = queryValueCustomizer.apply(query);
+        }
+        var lookup = responseCache != null
+            ? responseCache.lookup(graphQLSchema, customizedQuery, operationName, variables, headers, request)
+            : null;
+        if (lookup != null && lookup.cachedResult() != null) {
+            return lookup.cachedResult();
+        }
+        if (singleFlight != null) {
+            return singleFlight.execute(customizedQuery, operationName, variables, extensions, headers, request, () ->
+                limitedExecute(customizedQuery, variables, extensions, headers, operationName, request, graphQLSchema, lookup)
+            );
+        }
+        return limitedExecute(customizedQuery, variables, extensions, headers, operationName, request, graphQLSchema, lookup);
+    }
 
-        var request = requestCustomizer.apply(
-            (webRequest != null ? webRequest : (WebRequest)(RequestContextHolder.getRequestAttributes())),
-            headers );
+    ExecutionResult limitedExecute(
+        String customizedQuery,
+        Map<String, Object> variables,
+        Map<String, Object> extensions,
+        HttpHeaders headers,
+        String operationName,
+        WebRequest webRequest,
+        GraphQLSchema graphQLSchema,
+        ResponseCache.Lookup lookup
+    ) {
+        ConcurrencyLimiter.Permit permit = null;
+        if (concurrencyLimiter != null) {
+            permit = concurrencyLimiter.tryAcquire(operationName, headers);
+            if (permit == null) {
+                return tooManyRequests(operationName);
+            }
+        }
+        try {
+            var executionResult = doExecute(customizedQuery, variables, extensions, headers, operationName, webRequest, graphQLSchema);
+            return lookup != null ? responseCache.store(lookup, executionResult) : executionResult;
+        } finally {
+            if (permit != null) {
+                permit.release();
+            }
+        }
+    }
 
-        var dgsContext = contextBuilder.build(
-            new DgsWebMvcRequestData(extensions, headers, request));
+    ExecutionResult doExecute(
+        String customizedQuery,
+        Map<String, Object> variables,
+        Map<String, Object> extensions,
+        HttpHeaders headers,
+        String operationName,
+        WebRequest webRequest,
+        GraphQLSchema graphQLSchema
+    ) {
+        var timings = new DgsExecutionTimings(System.nanoTime());
+        var dgsContext = buildContext(extensions, headers, webRequest, timings);
+        var sharedRegistry = SharedDataLoaderRegistry.create(dataLoaderProvider, timings);
+
+        var executionResult = executeShared(
+            customizedQuery,
+            variables,
+            extensions,
+            operationName,
+            dgsContext,
+            graphQLSchema,
+            sharedRegistry,
+            timings
+        );
+
+        return logNullValueErrors(Kt.call(() -> executionResult.get()));
+    }
+
+    /**
+     * Root-level deferred fragments are executed as separate operations that share the DgsContext and the
+     * data loader registry of the request; see [DeferredOperationPlanner].
+     * They are started right away on the deferredExecutor, off the request thread, so they run concurrently with the
+     * initial operation. A deferred operation that fails is delivered as a payload with the error.
+     * With a [ConcurrencyLimiter], the request takes a single permit, which it holds until all of its operations
+     * complete. With an [OperationAllowList], operations are precompiled as a whole, so they are executed without splitting.
+     */
+    @Override
+    public DgsIncrementalExecutionResult executeIncrementally(
+        String query,
+        Map<String, Object> variables,
+        Map<String, Object> extensions,
+        HttpHeaders headers,
+        String operationName,
+        WebRequest webRequest
+    ) {
+        if (allowList != null) {
+            return DgsIncrementalExecutionResult.complete(execute(query, variables, extensions, headers, operationName, webRequest));
+        }
+        var customizedQuery = queryValueCustomizer.apply(query);
+        var plan = DeferredOperationPlanner.plan(customizedQuery, operationName, variables);
+        if (plan == null) {
+            return DgsIncrementalExecutionResult.complete(execute(query, variables, extensions, headers, operationName, webRequest));
+        }
 
-        var executionResult =
-            BaseDgsQueryExecutor.INSTANCE.baseExecute(
-                queryValueCustomizer.apply(query),
-                variables,
+        ConcurrencyLimiter.Permit permit = null;
+        if (concurrencyLimiter != null) {
+            permit = concurrencyLimiter.tryAcquire(operationName, headers);
+            if (permit == null) {
+                return DgsIncrementalExecutionResult.complete(tooManyRequests(operationName));
+            }
+        }
+
+        var deferredOperations = plan.deferredOperations();
+        var deferredResults = new ArrayList<CompletableFuture<ExecutionResult>>(deferredOperations.size());
+        CompletableFuture<ExecutionResult> initialResult;
+        try {
+            var timings = new DgsExecutionTimings(System.nanoTime());
+            var graphQLSchema = currentSchema();
+            var dgsContext = buildContext(extensions, headers, webRequest, timings);
+            var sharedRegistry = SharedDataLoaderRegistry.create(dataLoaderProvider, timings);
+
+            Function<String, CompletableFuture<ExecutionResult>> executeOperation = operation ->
+                executeShared(operation, variables, extensions, operationName, dgsContext, graphQLSchema, sharedRegistry, timings);
+
+            // the deferred operations are started here, not when the response writer subscribes
+            for (var deferred : deferredOperations) {
+                deferredResults.add(
+                    CompletableFuture.supplyAsync(() -> executeOperation.apply(deferred.query()), deferredExecutor)
+                        .thenCompose(Function.identity())
+                );
+            }
+            initialResult = executeOperation.apply(plan.initialQuery());
+        } catch (RuntimeException e) {
+            if (permit != null) {
+                permit.release();
+            }
+            throw e;
+        }
+        if (permit != null) {
+            var requestPermit = permit;
+            var allResults = new ArrayList<CompletableFuture<ExecutionResult>>(deferredResults);
+            allResults.add(initialResult);
+            CompletableFuture.allOf(allResults.toArray(CompletableFuture[]::new))
+                .whenComplete((result, error) -> requestPermit.release());
+        }
+
+        var remaining = new AtomicInteger(deferredOperations.size());
+        var subsequentPayloads = Flux.merge(
+            IntStream.range(0, deferredOperations.size())
+                .mapToObj(i -> Mono.fromFuture(deferredResults.get(i))
+                    .map(DefaultDgsQueryExecutor::logNullValueErrors)
+                    // a failed operation is delivered as a payload with the error, so that the response still ends
+                    .onErrorResume(error -> Mono.just(deferredOperationFailed(deferredOperations.get(i).label(), error)))
+                    .map(result -> DgsIncrementalExecutionResult.subsequentPayload(
+                        result, Collections.emptyList(), deferredOperations.get(i).label(), remaining.decrementAndGet() > 0
+                    )))
+                .toList()
+        ).cache();
+
+        return new DgsIncrementalExecutionResult(
+            logNullValueErrors(Kt.call(() -> initialResult.get())),
+            subsequentPayloads,
+            !deferredOperations.isEmpty()
+        );
+    }
+
+    /**
+     * The operations share the DgsContext and the data loader registry of the request, so that the data loaders
+     * cache across operations, and batch the loads of operations that are pending at the same time.
+     * Queries are started before the first result is awaited; a mutation waits for the operations before it, and the
+     * operations after it wait for the mutation, and then see empty data loader caches, so that they do not read what
+     * the data loaders cached before the mutation. A batch with more than maxBatchOperations operations is rejected with
+     * a [DgsBadRequestException]. With a [ConcurrencyLimiter], every operation takes a permit of its own; an operation
+     * over the limit gets a TOO_MANY_REQUESTS result.
+     */
+    @Override
+    public List<ExecutionResult> executeBatch(
+        List<BatchedOperation> operations,
+        Map<String, Object> extensions,
+        HttpHeaders headers,
+        WebRequest webRequest
+    ) {
+        if (operations.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (operations.size() > maxBatchOperations) {
+            throw new DgsBadRequestException(
+                "A batch may have at most " + maxBatchOperations + " operations, it has " + operations.size()
+            );
+        }
+        var timings = new DgsExecutionTimings(System.nanoTime());
+        var graphQLSchema = currentSchema();
+        var dgsContext = buildContext(extensions, headers, webRequest, timings);
+        var sharedRegistry = SharedDataLoaderRegistry.create(dataLoaderProvider, timings);
+
+        var executionResults = new ArrayList<CompletableFuture<ExecutionResult>>(operations.size());
+        for (var operation : operations) {
+            String customizedQuery;
+            if (allowList != null) {
+                // by its id or its document; the persistedQuery extension of the request does not name an operation of the batch
+                var allowed = allowList.resolve(operation.query(), null);
+                if (allowed == null) {
+                    executionResults.add(CompletableFuture.completedFuture(unknownOperation()));
+                    continue;
+                }
+                customizedQuery = allowed.query();
+            } else {
+                customizedQuery = queryValueCustomizer.apply(operation.query());
+            }
+            var isMutation = parsedDocuments.operationType(customizedQuery, operation.operationName()) == OperationDefinition.Operation.MUTATION;
+            if (isMutation) {
+                awaitAll(executionResults);
+            }
+            ConcurrencyLimiter.Permit permit = null;
+            if (concurrencyLimiter != null) {
+                permit = concurrencyLimiter.tryAcquire(operation.operationName(), headers);
+                if (permit == null) {
+                    executionResults.add(CompletableFuture.completedFuture(tooManyRequests(operation.operationName())));
+                    continue;
+                }
+            }
+            var executionResult = withPermit(permit, () -> executeShared(
+                customizedQuery,
+                operation.variables(),
                 extensions,
-                operationName,
+                operation.operationName(),
                 dgsContext,
                 graphQLSchema,
-                dataLoaderProvider,
-                instrumentation,
-                queryExecutionStrategy,
-                mutationExecutionStrategy,
-                idProvider,
-                preparsedDocumentProvider
+                sharedRegistry,
+                timings
+            ));
+            executionResults.add(executionResult);
+            if (isMutation) {
+                awaitAll(List.of(executionResult));
+                sharedRegistry.registry().getDataLoaders().forEach(DataLoader::clearAll);
+            }
+        }
+
+        return executionResults.stream()
+            .map(executionResult -> logNullValueErrors(Kt.call(() -> executionResult.get())))
+            .toList();
+    }
+
+    // releases the permit, if there is one, when the execution completes
+    static CompletableFuture<ExecutionResult> withPermit(ConcurrencyLimiter.Permit permit, Supplier<CompletableFuture<ExecutionResult>> execution) {
+        if (permit == null) {
+            return execution.get();
+        }
+        CompletableFuture<ExecutionResult> started;
+        try {
+            started = execution.get();
+        } catch (RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+        return started.whenComplete((result, error) -> permit.release());
+    }
+
+    // waits for the executions to complete, whether they succeed or fail; their results are awaited later, in order
+    static void awaitAll(List<CompletableFuture<ExecutionResult>> executionResults) {
+        CompletableFuture.allOf(executionResults.toArray(CompletableFuture[]::new))
+            .handle((result, error) -> null)
+            .join();
+    }
+
+    /**
+     * Applies the configured [SubscriptionBackpressure] to the results of the subscription.
+     */
+    @Override
+    public Publisher<ExecutionResult> executeSubscription(
+        String query,
+        Map<String, Object> variables,
+        Map<String, Object> extensions,
+        HttpHeaders headers,
+        String operationName,
+        WebRequest webRequest
+    ) {
+        var executionResult = execute(query, variables, extensions, headers, operationName, webRequest);
+        if (executionResult.getData() instanceof Publisher<?> results) {
+            return subscriptionBackpressure.apply((Publisher<ExecutionResult>) results);
+        }
+        return Mono.just(executionResult);
+    }
+
+    CompletableFuture<ExecutionResult> executeShared(
+        String query,
+        Map<String, Object> variables,
+        Map<String, Object> extensions,
+        String operationName,
+        DgsContext dgsContext,
+        GraphQLSchema graphQLSchema,
+        SharedDataLoaderRegistry sharedRegistry,
+        DgsExecutionTimings timings
+    ) {
+        return BaseDgsQueryExecutor.INSTANCE.baseExecute(
+            query,
+            variables,
+            extensions,
+            operationName,
+            dgsContext,
+            graphQLSchema,
+            sharedRegistry.registry(),
+            sharedRegistry.graphQLContextFuture(),
+            instrumentation,
+            queryExecutionStrategy,
+            mutationExecutionStrategy,
+            idProvider,
+            preparsedDocumentProvider,
+            timings
+        );
+    }
+
+    static ExecutionResult deferredOperationFailed(String label, Throwable error) {
+        var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        logger.error("Deferred operation {} failed", label, cause);
+        return ExecutionResultImpl.newExecutionResult()
+            .errors(List.of(
+                TypedGraphQLError.newInternalErrorBuilder()
+                    .message("%s: %s", cause.getClass().getName(), cause.getMessage())
+                    .build()
+            ))
+            .build();
+    }
+
+    static DgsExecutionResult tooManyRequests(String operationName) {
+        return DgsExecutionResult.builder()
+            .status(HttpStatus.TOO_MANY_REQUESTS)
+            .executionResult(
+                ExecutionResultImpl.newExecutionResult()
+                    .errors(List.of(
+                        TypedGraphQLError.newBuilder()
+                            .errorDetail(ErrorDetail.Common.ENHANCE_YOUR_CALM)
+                            .message("Too many concurrent executions of operation %s", operationName != null ? operationName : ConcurrencyLimiter.ANONYMOUS_OPERATION)
+                            .build()
+                    ))
+            )
+            .build();
+    }
+
+    static DgsExecutionResult unknownOperation() {
+        return DgsExecutionResult.builder()
+            .status(HttpStatus.BAD_REQUEST)
+            .executionResult(
+                ExecutionResultImpl.newExecutionResult()
+                    .errors(List.of(OperationAllowList.unknownOperationError()))
+            )
+            .build();
+    }
+
+    /**
+     * A data loader registry shared by several executions of a request.
+     * Its loaders see the GraphQLContext of the first execution.
+     */
+    record SharedDataLoaderRegistry(DataLoaderRegistry registry, CompletableFuture<GraphQLContext> graphQLContextFuture) {
+        static SharedDataLoaderRegistry create(DgsDataLoaderProvider dataLoaderProvider, DgsExecutionTimings timings) {
+            var start = System.nanoTime();
+            var graphQLContextFuture = new CompletableFuture<GraphQLContext>();
+            var registry = new SharedDataLoaderRegistry(
+                dataLoaderProvider.buildRegistryWithContextSupplier(() -> Kt.call(() -> graphQLContextFuture.get())),
+                graphQLContextFuture
             );
+            timings.setDataLoaderRegistryNanos(System.nanoTime() - start);
+            return registry;
+        }
+    }
+
+    GraphQLSchema currentSchema() {
+        if (!reloadIndicator.reloadSchema()) {
+            return schema.get();
+        }
+        var reloaded = schema.updateAndGet(it -> schemaProvider.schema(null,null));
+        if (allowList != null) {
+            allowList.reload(reloaded);
+        }
+        return reloaded;
+    }
+
+    DgsContext buildContext(Map<String, Object> extensions, HttpHeaders headers, WebRequest webRequest, DgsExecutionTimings timings) {
+        var start = System.nanoTime();
+        var request = requestCustomizer.apply(effectiveRequest(webRequest), headers);
+
+        var dgsContext = contextBuilder.build(
+            new DgsWebMvcRequestData(extensions, headers, request));
+        timings.setContextBuildNanos(System.nanoTime() - start);
+        return dgsContext;
+    }
+
+    /**
+     * The webRequest, or else the request of the current thread, e.g. for the convenience methods that take none.
+     */
+    static WebRequest effectiveRequest(WebRequest webRequest) {
+        if (webRequest != null) {
+            return webRequest;
+        }
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof WebRequest request) {
+            return request;
+        }
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return new ServletWebRequest(servletAttributes.getRequest(), servletAttributes.getResponse());
+        }
+        return null;
+    }
 
-        // Check for NonNullableFieldWasNull errors, and log them explicitly because they don't run through the exception handlers.
-        var result = Kt.call(() -> executionResult.get());
+    // Check for NonNullableFieldWasNull errors, and log them explicitly because they don't run through the exception handlers.
+    static ExecutionResult logNullValueErrors(ExecutionResult result) {
         if (result.getErrors().size() > 0) {
             var nullValueError = result.getErrors().stream().filter(it -> it instanceof NonNullableFieldWasNullError).findFirst();
             if (nullValueError.isPresent()) {
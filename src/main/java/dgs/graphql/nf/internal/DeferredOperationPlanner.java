@@ -0,0 +1,176 @@
+package dgs.graphql.nf.internal;
+
+import graphql.language.AstPrinter;
+import graphql.language.BooleanValue;
+import graphql.language.Definition;
+import graphql.language.Directive;
+import graphql.language.DirectivesContainer;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.Node;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.StringValue;
+import graphql.language.VariableReference;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plans the incremental delivery of a query that uses the @defer directive.
+ * <p>
+ * graphql-java 20 cannot execute @defer itself, so the fragments deferred on the root selection set of a query
+ * are split off into operations of their own: the initial operation selects everything that is not deferred, and
+ * each deferred fragment becomes an operation that is executed separately and delivered as a patch at path [].
+ * @defer on nested selections is removed and those selections are delivered with their parent, which the
+ * incremental delivery spec allows a server to do.
+ */
+public final class DeferredOperationPlanner {
+    private DeferredOperationPlanner() {}
+
+    static final String DEFER = "defer";
+
+    public record DeferredOperation(String label, String query) {}
+
+    public record Plan(String initialQuery, List<DeferredOperation> deferredOperations) {}
+
+    /**
+     * Returns the plan for the query, or null if it does not use @defer, is not a query, or can not be parsed;
+     * such a query is executed as is.
+     */
+    public static Plan plan(String query, String operationName, Map<String, Object> variables) {
+        if (query == null || !query.contains("@" + DEFER)) {
+            return null;
+        }
+        Document document;
+        try {
+            document = Parser.parse(query);
+        } catch (InvalidSyntaxException ex) {
+            // reported by the execution of the unmodified query
+            return null;
+        }
+
+        var operations = document.getDefinitionsOfType(OperationDefinition.class);
+        var operation = operations.stream()
+            .filter(it -> operationName == null || operationName.isBlank() ? operations.size() == 1 : operationName.equals(it.getName()))
+            .findFirst().orElse(null);
+        if (operation == null || operation.getOperation() != OperationDefinition.Operation.QUERY) {
+            return null;
+        }
+        var inputVariables = variables != null ? variables : Collections.<String, Object>emptyMap();
+
+        var fragments = new LinkedHashMap<String, FragmentDefinition>();
+        for (var fragment : document.getDefinitionsOfType(FragmentDefinition.class)) {
+            fragments.put(fragment.getName(), fragment.transform(b -> b.selectionSet(withoutDefer(fragment.getSelectionSet()))));
+        }
+
+        var initial = new ArrayList<Selection<?>>();
+        var deferred = new ArrayList<DeferredOperation>();
+        for (var selection : operation.getSelectionSet().getSelections()) {
+            var defer = selection instanceof InlineFragment || selection instanceof FragmentSpread
+                ? deferDirective(((DirectivesContainer<?>) selection).getDirectives())
+                : null;
+            if (defer != null && isEnabled(defer, inputVariables)) {
+                deferred.add(new DeferredOperation(label(defer), print(operation, List.of(withoutDefer(selection)), fragments)));
+            } else {
+                initial.add(withoutDefer(selection));
+            }
+        }
+        if (initial.isEmpty()) {
+            // an operation needs at least one selection
+            initial.add(Field.newField("__typename").build());
+        }
+        return new Plan(print(operation, initial, fragments), deferred);
+    }
+
+    static String print(OperationDefinition operation, List<Selection<?>> selections, Map<String, FragmentDefinition> fragments) {
+        var selectionSet = SelectionSet.newSelectionSet(selections).build();
+        var usedFragments = new LinkedHashMap<String, FragmentDefinition>();
+        var usedVariables = new HashSet<String>();
+        collectReferences(selectionSet, fragments, usedFragments, usedVariables);
+        operation.getDirectives().forEach(it -> collectReferences(it, fragments, usedFragments, usedVariables));
+
+        // unused fragments and variables fail validation
+        var variableDefinitions = operation.getVariableDefinitions().stream()
+            .filter(it -> usedVariables.contains(it.getName()))
+            .toList();
+        var definitions = new ArrayList<Definition>();
+        definitions.add(operation.transform(b -> b.selectionSet(selectionSet).variableDefinitions(variableDefinitions)));
+        definitions.addAll(usedFragments.values());
+        return AstPrinter.printAst(Document.newDocument().definitions(definitions).build());
+    }
+
+    static void collectReferences(Node<?> node, Map<String, FragmentDefinition> fragments, Map<String, FragmentDefinition> usedFragments, Set<String> usedVariables) {
+        if (node instanceof VariableReference variable) {
+            usedVariables.add(variable.getName());
+        } else if (node instanceof FragmentSpread spread && !usedFragments.containsKey(spread.getName())) {
+            var fragment = fragments.get(spread.getName());
+            if (fragment != null) {
+                usedFragments.put(spread.getName(), fragment);
+                collectReferences(fragment, fragments, usedFragments, usedVariables);
+            }
+        }
+        for (Node<?> child : node.getChildren()) {
+            collectReferences(child, fragments, usedFragments, usedVariables);
+        }
+    }
+
+    static SelectionSet withoutDefer(SelectionSet selectionSet) {
+        if (selectionSet == null) {
+            return null;
+        }
+        return SelectionSet.newSelectionSet(
+            selectionSet.getSelections().stream().<Selection<?>>map(DeferredOperationPlanner::withoutDefer).toList()
+        ).build();
+    }
+
+    static Selection<?> withoutDefer(Selection<?> selection) {
+        return switch (selection) {
+            case Field field -> field.getSelectionSet() == null
+                ? field
+                : field.transform(b -> b.selectionSet(withoutDefer(field.getSelectionSet())));
+            case InlineFragment fragment -> fragment.transform(b -> b
+                .directives(withoutDefer(fragment.getDirectives()))
+                .selectionSet(withoutDefer(fragment.getSelectionSet())));
+            case FragmentSpread spread -> spread.transform(b -> b.directives(withoutDefer(spread.getDirectives())));
+            default -> selection;
+        };
+    }
+
+    static List<Directive> withoutDefer(List<Directive> directives) {
+        return directives.stream().filter(it -> !DEFER.equals(it.getName())).toList();
+    }
+
+    static Directive deferDirective(List<Directive> directives) {
+        return directives.stream().filter(it -> DEFER.equals(it.getName())).findFirst().orElse(null);
+    }
+
+    static boolean isEnabled(Directive defer, Map<String, Object> variables) {
+        var argument = defer.getArgument("if");
+        if (argument == null) {
+            return true;
+        }
+        return switch (argument.getValue()) {
+            case BooleanValue value -> value.isValue();
+            case VariableReference variable -> !Boolean.FALSE.equals(variables.get(variable.getName()));
+            default -> true;
+        };
+    }
+
+    static String label(Directive defer) {
+        var argument = defer.getArgument("label");
+        return argument != null && argument.getValue() instanceof StringValue value ? value.getValue() : null;
+    }
+
+}
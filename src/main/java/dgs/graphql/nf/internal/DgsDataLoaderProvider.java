@@ -3,6 +3,8 @@ package dgs.graphql.nf.internal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import dgs.graphql.nf.DataLoaderInstrumentationExtensionProvider;
@@ -52,11 +54,21 @@ public class DgsDataLoaderProvider {
     private final List<LoaderHolder<MappedBatchLoaderWithContext<?, ?>>> mappedBatchLoadersWithContext;
 
     private final ApplicationContext applicationContext;
+    private final DgsWiringManifest wiringManifest;
 
     private static final Logger logger = LoggerFactory.getLogger(DgsDataLoaderProvider.class);
 
     public DgsDataLoaderProvider(ApplicationContext applicationContext) {
+        this(applicationContext, null);
+    }
+
+    /**
+     * @param wiringManifest if not null, the data loader fields and dispatch predicates are looked up in the
+     *                       build-time manifest instead of scanning the declared fields of every component
+     */
+    public DgsDataLoaderProvider(ApplicationContext applicationContext, DgsWiringManifest wiringManifest) {
         this.applicationContext = applicationContext;
+        this.wiringManifest = wiringManifest;
         this.batchLoaders = new ArrayList();
         this.batchLoadersWithContext = new ArrayList();
         this.mappedBatchLoaders = new ArrayList();
@@ -70,7 +82,7 @@ public class DgsDataLoaderProvider {
 
 
     public <T> DataLoaderRegistry buildRegistryWithContextSupplier(Supplier<T> contextSupplier) {
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
         var dgsDataLoaderRegistry = new DgsDataLoaderRegistry();
 
         batchLoaders.forEach(it -> {
@@ -126,15 +138,16 @@ public class DgsDataLoaderProvider {
             }
         });
 
-        long endTime = System.currentTimeMillis();
-        long totalTime = endTime - startTime;
-        logger.debug("Created DGS dataloader registry in {}ms", totalTime);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Created DGS dataloader registry in {}us", TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+        }
 
         return dgsDataLoaderRegistry;
     }
 
-    // TODO: review this - is it relevant fo Spring ??
-    // @jakarta.annotations.PostConstruct
+    /**
+     * Finds the data loaders of the application context; the init method of the auto configured bean.
+     */
     public void findDataLoaders() {
         this.addDataLoaderComponents();
         this.addDataLoaderFields();
@@ -144,7 +157,11 @@ public class DgsDataLoaderProvider {
         applicationContext.getBeansWithAnnotation(DgsComponent.class).values().forEach(dgsComponent -> {
             var javaClass = AopUtils.getTargetClass(dgsComponent);
 
-            Arrays.stream(javaClass.getDeclaredFields()).filter(it -> it.isAnnotationPresent(DgsDataLoader.class))
+            var fields = wiringManifest != null && wiringManifest.covers(javaClass)
+                ? wiringManifest.dataLoaderFields(dgsComponent).stream().map(it -> ReflectionUtils.findField(javaClass, it))
+                : Arrays.stream(javaClass.getDeclaredFields());
+
+            fields.filter(it -> it != null && it.isAnnotationPresent(DgsDataLoader.class))
                 .forEach(field -> {
                     if (AopUtils.isAopProxy(dgsComponent)) {
                         throw new UnsupportedSecuredDataLoaderException(dgsComponent.getClass());
@@ -175,7 +192,9 @@ public class DgsDataLoaderProvider {
         dataLoaders.values().forEach(dgsComponent -> {
             var javaClass = AopUtils.getTargetClass(dgsComponent);
             var annotation = javaClass.getAnnotation(DgsDataLoader.class);
-            var f = Arrays.stream(javaClass.getDeclaredFields()).filter(it -> it.isAnnotationPresent(DgsDispatchPredicate.class)).findFirst();
+            var f = wiringManifest != null && wiringManifest.covers(javaClass) && wiringManifest.isDataLoader(javaClass)
+                ? Optional.ofNullable(wiringManifest.dispatchPredicateField(javaClass)).map(it -> ReflectionUtils.findField(javaClass, it))
+                : Arrays.stream(javaClass.getDeclaredFields()).filter(it -> it.isAnnotationPresent(DgsDispatchPredicate.class)).findFirst();
             if (f.isPresent()) {
                 var predicateField = f.get();
                 ReflectionUtils.makeAccessible(predicateField);
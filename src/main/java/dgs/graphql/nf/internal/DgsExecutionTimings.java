@@ -0,0 +1,50 @@
+package dgs.graphql.nf.internal;
+
+import graphql.GraphQLContext;
+
+/**
+ * The timings of the request phases that happen before graphql-java starts the execution, i.e. building the DgsContext
+ * and the data loader registry. The executor puts them in the GraphQLContext, for the [DgsTracingInstrumentation].
+ */
+public final class DgsExecutionTimings {
+
+    private enum GraphQLContextKey { DGS_EXECUTION_TIMINGS }
+
+    private final long requestStartNanos;
+    private volatile long contextBuildNanos;
+    private volatile long dataLoaderRegistryNanos;
+
+    public DgsExecutionTimings(long requestStartNanos) {
+        this.requestStartNanos = requestStartNanos;
+    }
+
+    public long getRequestStartNanos() {
+        return requestStartNanos;
+    }
+
+    public long getContextBuildNanos() {
+        return contextBuildNanos;
+    }
+
+    public void setContextBuildNanos(long contextBuildNanos) {
+        this.contextBuildNanos = contextBuildNanos;
+    }
+
+    public long getDataLoaderRegistryNanos() {
+        return dataLoaderRegistryNanos;
+    }
+
+    public void setDataLoaderRegistryNanos(long dataLoaderRegistryNanos) {
+        this.dataLoaderRegistryNanos = dataLoaderRegistryNanos;
+    }
+
+    public void putIn(GraphQLContext graphQLContext) {
+        graphQLContext.put(GraphQLContextKey.DGS_EXECUTION_TIMINGS, this);
+    }
+
+    /** The timings of the request, or null if the execution was not started by the DGS executor. */
+    public static DgsExecutionTimings from(GraphQLContext graphQLContext) {
+        return graphQLContext.get(GraphQLContextKey.DGS_EXECUTION_TIMINGS);
+    }
+
+}
@@ -1,6 +1,8 @@
 package dgs.graphql.nf.internal;
 
 import graphql.execution.DataFetcherExceptionHandler;
+import graphql.language.FieldDefinition;
+import graphql.language.ImplementingTypeDefinition;
 import graphql.language.InterfaceTypeDefinition;
 import graphql.language.TypeName;
 import graphql.language.UnionTypeDefinition;
@@ -36,12 +38,16 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import dgs.graphql.nf.DgsCached;
 import dgs.graphql.nf.DgsCodeRegistry;
 import dgs.graphql.nf.DgsComponent;
 import dgs.graphql.nf.DgsData;
@@ -53,6 +59,7 @@ import dgs.graphql.nf.DgsEntityFetcher;
 import dgs.graphql.nf.DgsFederationResolver;
 import dgs.graphql.nf.DgsRuntimeWiring;
 import dgs.graphql.nf.DgsScalar;
+import dgs.graphql.nf.DgsTrivialDataFetcher;
 import dgs.graphql.nf.DgsTypeDefinitionRegistry;
 import dgs.graphql.nf.DgsTypeResolver;
 import dgs.graphql.nf.exceptions.InvalidDgsConfigurationException;
@@ -63,6 +70,8 @@ import dgs.graphql.nf.internal.method.MethodDataFetcherFactory;
 import dgs.graphql.nf.federation.Federation;
 import dgs.graphql.nf.support.Kt;
 
+import org.reactivestreams.Publisher;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,6 +81,7 @@ import org.springframework.core.annotation.MergedAnnotation;
 import org.springframework.core.annotation.MergedAnnotations;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 
 /**
@@ -89,11 +99,15 @@ public final class DgsSchemaProvider {
     private final Optional<DataFetcherFactory<?>> defaultDataFetcherFactory;
     private final MethodDataFetcherFactory methodDataFetcherFactory;
     private final Predicate<Object> componentFilter;
+    private final Optional<DgsWiringManifest> wiringManifest;
+    private final Optional<BlockingDataFetcherExecutor> blockingDataFetcherExecutor;
+    private final Optional<SharedSubscriptionPublishers> sharedSubscriptionPublishers;
     // private final Set<MockProvider> mockProviders;
 
     private final ReentrantReadWriteLock schemaReadWriteLock;
     private final Map<String, Boolean> dataFetcherInstrumentationEnabled;
-    private final List<DataFetcherReference> dataFetchers;
+    private final Map<String, DataFetcherReference> dataFetchers;
+    private final List<String> duplicateDataFetchers;
 
 
     public DgsSchemaProvider(
@@ -106,7 +120,10 @@ public final class DgsSchemaProvider {
         EntityFetcherRegistry entityFetcherRegistry,
         Optional<DataFetcherFactory<?>> defaultDataFetcherFactory,
         MethodDataFetcherFactory methodDataFetcherFactory,
-        Predicate<Object> componentFilter
+        Predicate<Object> componentFilter,
+        Optional<DgsWiringManifest> wiringManifest,
+        Optional<BlockingDataFetcherExecutor> blockingDataFetcherExecutor,
+        Optional<SharedSubscriptionPublishers> sharedSubscriptionPublishers
         // Set<MockProvider> mockProviders,
     ) {
         this.applicationContext = applicationContext;
@@ -119,12 +136,16 @@ public final class DgsSchemaProvider {
         this.entityFetcherRegistry = entityFetcherRegistry; // = EntityFetcherRegistry(),
         this.defaultDataFetcherFactory = defaultDataFetcherFactory; // Optional.empty(),
         this.methodDataFetcherFactory = methodDataFetcherFactory;
-        this.componentFilter = componentFilter; // = { true }
+        this.componentFilter = componentFilter != null ? componentFilter : it -> true;
+        this.wiringManifest = wiringManifest;
+        this.blockingDataFetcherExecutor = blockingDataFetcherExecutor;
+        this.sharedSubscriptionPublishers = sharedSubscriptionPublishers;
         // this.mockProviders = mockProviders; = emptySet(),
 
         this.schemaReadWriteLock = new ReentrantReadWriteLock();
         this.dataFetcherInstrumentationEnabled = new LinkedHashMap<>();
-        this.dataFetchers = new ArrayList<>();
+        this.dataFetchers = new LinkedHashMap<>();
+        this.duplicateDataFetchers = new ArrayList<>();
     }
 
     /**
@@ -134,7 +155,7 @@ public final class DgsSchemaProvider {
     public List<DataFetcherReference> resolvedDataFetchers() {
         var readLock = schemaReadWriteLock.readLock();
         readLock.lock();
-        try { return Collections.unmodifiableList(dataFetchers); }
+        try { return List.copyOf(dataFetchers.values()); }
         finally { readLock.unlock(); }
     }
 
@@ -160,6 +181,7 @@ public final class DgsSchemaProvider {
         writeLock.lock();
         try {
             dataFetchers.clear();
+            duplicateDataFetchers.clear();
             dataFetcherInstrumentationEnabled.clear();
             return computeSchema(schema, fieldVisibility != null ? fieldVisibility : DefaultGraphqlFieldVisibility.DEFAULT_FIELD_VISIBILITY );
         }
@@ -170,7 +192,7 @@ public final class DgsSchemaProvider {
     }
 
     GraphQLSchema computeSchema(String schema, GraphqlFieldVisibility fieldVisibility) {
-        var startTime = System.currentTimeMillis();
+        var startTime = System.nanoTime();
         var dgsComponents =
             applicationContext.getBeansWithAnnotation(DgsComponent.class).values().stream().filter(componentFilter).toList();
         var hasDynamicTypeRegistry =
@@ -238,8 +260,7 @@ public final class DgsSchemaProvider {
             Federation.transform(mergedRegistry, runtimeWiringBuilder.build()).fetchEntities(entityFetcher)
                 .resolveEntityType(typeResolver).build();
 
-        var endTime = System.currentTimeMillis();
-        var totalTime = endTime - startTime;
+        var totalTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
         logger.debug("DGS initialized schema in {}ms", totalTime);
 
         // in com.netflix.graphql.mocking.DgsSchemaTransformer
@@ -313,6 +334,30 @@ public final class DgsSchemaProvider {
         Collection<? extends Object> dgsComponents,
         GraphQLCodeRegistry.Builder codeRegistryBuilder,
         TypeDefinitionRegistry typeDefinitionRegistry
+    ) {
+        if (wiringManifest.isPresent()) {
+            // components that are not in the manifest are scanned, e.g. those of a jar built without the processor
+            var covered = dgsComponents.stream().collect(Collectors.partitioningBy(it -> wiringManifest.get().covers(it)));
+            covered.get(false).forEach(it ->
+                logger.debug("{} is not in the DGS wiring manifest, scanning it", AopUtils.getTargetClass(it).getName())
+            );
+            findManifestDataFetchers(covered.get(true), codeRegistryBuilder, typeDefinitionRegistry);
+            scanDataFetchers(covered.get(false), codeRegistryBuilder, typeDefinitionRegistry);
+        } else {
+            scanDataFetchers(dgsComponents, codeRegistryBuilder, typeDefinitionRegistry);
+        }
+
+        if (!duplicateDataFetchers.isEmpty()) {
+            var message = "Duplicate data fetchers registered for " + String.join(", ", duplicateDataFetchers);
+            logger.error(message);
+            throw new InvalidDgsConfigurationException(message);
+        }
+    }
+
+    void scanDataFetchers(
+        Collection<? extends Object> dgsComponents,
+        GraphQLCodeRegistry.Builder codeRegistryBuilder,
+        TypeDefinitionRegistry typeDefinitionRegistry
     ) {
         record p(Method method, MergedAnnotations mergedAnnotations) {}
 
@@ -345,6 +390,32 @@ public final class DgsSchemaProvider {
             });
     }
 
+    /**
+     * Registers the data fetchers recorded in the build-time [DgsWiringManifest], so only the bound methods are introspected.
+     */
+    void findManifestDataFetchers(
+        Collection<? extends Object> dgsComponents,
+        GraphQLCodeRegistry.Builder codeRegistryBuilder,
+        TypeDefinitionRegistry typeDefinitionRegistry
+    ) {
+        dgsComponents.forEach(dgsComponent -> {
+            var javaClass = AopUtils.getTargetClass(dgsComponent);
+            wiringManifest.get().dataFetchers(dgsComponent).forEach(binding -> {
+                var method = DgsWiringManifest.findMethod(javaClass, binding.method(), binding.parameterTypes());
+                registerDataFetcher(
+                    typeDefinitionRegistry,
+                    codeRegistryBuilder,
+                    dgsComponent,
+                    method,
+                    binding.parentType(),
+                    binding.field(),
+                    MergedAnnotations.from(method, MergedAnnotations.SearchStrategy.TYPE_HIERARCHY),
+                    binding.invoker()
+                );
+            });
+        });
+    }
+
     void registerDataFetcher(
         TypeDefinitionRegistry typeDefinitionRegistry,
         GraphQLCodeRegistry.Builder codeRegistryBuilder,
@@ -354,19 +425,39 @@ public final class DgsSchemaProvider {
         MergedAnnotations mergedAnnotations
     ) {
         var f = dgsDataAnnotation.getString("field");
-        var field = (f == null || f.isBlank()) ? f : method.getName();
+        var field = (f == null || f.isBlank()) ? method.getName() : f;
         var parentType = dgsDataAnnotation.getString("parentType");
 
-        if (dataFetchers.stream().anyMatch(it -> it.parentType().equals(parentType) && it.field().equals(field))) {
-            logger.error("Duplicate data fetchers registered for "+parentType+'.'+field);
-            throw new InvalidDgsConfigurationException("Duplicate data fetchers registered for "+parentType+'.'+field);
+        registerDataFetcher(typeDefinitionRegistry, codeRegistryBuilder, dgsComponent, method, parentType, field, mergedAnnotations, null);
+    }
+
+    void registerDataFetcher(
+        TypeDefinitionRegistry typeDefinitionRegistry,
+        GraphQLCodeRegistry.Builder codeRegistryBuilder,
+        Object dgsComponent,
+        Method method,
+        String parentType,
+        String field,
+        MergedAnnotations mergedAnnotations,
+        String invokerClass
+    ) {
+        // duplicates are collected and reported together once all components have been scanned
+        var reference = new DataFetcherReference(dgsComponent, method, mergedAnnotations, parentType, field);
+        if (dataFetchers.putIfAbsent(parentType+'.'+field, reference) != null) {
+            duplicateDataFetchers.add(parentType+'.'+field);
+            return;
         }
 
-        dataFetchers.add(new DataFetcherReference(dgsComponent, method, mergedAnnotations, parentType, field));
+        var cacheSettings = parentType.equals("Subscription") ? null : CachingDataFetcher.Settings.of(
+            fieldDefinition(typeDefinitionRegistry, parentType, field),
+            method.getAnnotation(DgsCached.class)
+        );
+        // a cached data fetcher can return a future, so it is never trivial
+        var trivial = cacheSettings == null && isTrivialDataFetcher(method, parentType);
 
         var enableInstrumentation = method.isAnnotationPresent(DgsEnableDataFetcherInstrumentation.class)
             ? method.getAnnotation(DgsEnableDataFetcherInstrumentation.class).value()
-            : !method.getReturnType().equals(CompletionStage.class) && !method.getReturnType().equals(CompletableFuture.class);
+            : !trivial && !method.getReturnType().equals(CompletionStage.class) && !method.getReturnType().equals(CompletableFuture.class);
 
         dataFetcherInstrumentationEnabled.put(parentType+'.'+field, enableInstrumentation);
 
@@ -380,7 +471,7 @@ public final class DgsSchemaProvider {
                     var implementationsOf = typeDefinitionRegistry.getImplementationsOf(type);
                     implementationsOf.forEach(implType -> {
                         var dataFetcher =
-                            createBasicDataFetcher(method, dgsComponent, parentType.equals("Subscription"));
+                            cached(createBasicDataFetcher(method, dgsComponent, invokerClass, parentType, trivial), cacheSettings);
                         codeRegistryBuilder.dataFetcher(
                             FieldCoordinates.coordinates(implType.getName(), field),
                             dataFetcher
@@ -392,7 +483,7 @@ public final class DgsSchemaProvider {
                     type.getMemberTypes().stream().filter(it -> it instanceof TypeName).forEach(t -> {
                         var memberType = (TypeName)t;
                         var dataFetcher =
-                            createBasicDataFetcher(method, dgsComponent, parentType.equals("Subscription"));
+                            cached(createBasicDataFetcher(method, dgsComponent, invokerClass, parentType, trivial), cacheSettings);
                         codeRegistryBuilder.dataFetcher(
                             FieldCoordinates.coordinates(memberType.getName(), field),
                             dataFetcher
@@ -401,7 +492,7 @@ public final class DgsSchemaProvider {
                     });
                 }
                 default -> {
-                    var dataFetcher = createBasicDataFetcher(method, dgsComponent, parentType.equals("Subscription"));
+                    var dataFetcher = cached(createBasicDataFetcher(method, dgsComponent, invokerClass, parentType, trivial), cacheSettings);
                     codeRegistryBuilder.dataFetcher(
                         FieldCoordinates.coordinates(parentType, field),
                         dataFetcher
@@ -414,13 +505,22 @@ public final class DgsSchemaProvider {
         }
     }
 
+    boolean usesManifest(Object dgsComponent) {
+        return wiringManifest.isPresent() && wiringManifest.get().covers(dgsComponent);
+    }
+
     void findEntityFetchers(
         Collection<? extends Object> dgsComponents
     ) {
         dgsComponents.forEach(dgsComponent -> {
             var javaClass = AopUtils.getTargetClass(dgsComponent);
 
-            Arrays.stream(ReflectionUtils.getDeclaredMethods(javaClass))
+            var methods = usesManifest(dgsComponent)
+                ? wiringManifest.get().entityFetchers(dgsComponent).stream()
+                    .map(it -> DgsWiringManifest.findMethod(javaClass, it.method(), it.parameterTypes()))
+                : Arrays.stream(ReflectionUtils.getDeclaredMethods(javaClass));
+
+            methods
                 .filter(it -> it.isAnnotationPresent(DgsEntityFetcher.class) )
                 .forEach(method -> {
                     var dgsEntityFetcherAnnotation = method.getAnnotation(DgsEntityFetcher.class);
@@ -435,28 +535,145 @@ public final class DgsSchemaProvider {
         });
     }
 
+    DataFetcher<Object> cached(DataFetcher<Object> dataFetcher, CachingDataFetcher.Settings cacheSettings) {
+        return cacheSettings != null ? new CachingDataFetcher(dataFetcher, cacheSettings) : dataFetcher;
+    }
+
+    /**
+     * The definition of the field in the type or its extensions, or null if the type has no fields, e.g. a union.
+     */
+    FieldDefinition fieldDefinition(TypeDefinitionRegistry typeDefinitionRegistry, String parentType, String field) {
+        var definitions = Stream.<Object>concat(
+            typeDefinitionRegistry.getType(parentType).stream(),
+            Stream.<Object>concat(
+                typeDefinitionRegistry.objectTypeExtensions().getOrDefault(parentType, List.of()).stream(),
+                typeDefinitionRegistry.interfaceTypeExtensions().getOrDefault(parentType, List.of()).stream()
+            )
+        );
+        return definitions
+            .filter(it -> it instanceof ImplementingTypeDefinition<?>)
+            .flatMap(it -> ((ImplementingTypeDefinition<?>) it).getFieldDefinitions().stream())
+            .filter(it -> it.getName().equals(field))
+            .findFirst()
+            .orElse(null);
+    }
+
     DataFetcher<Object> createBasicDataFetcher(
         Method method,
         Object dgsComponent,
-        boolean isSubscription
+        String invokerClass,
+        String parentType,
+        boolean trivial
     ) {
-        var dataFetcher = methodDataFetcherFactory.createDataFetcher(dgsComponent, method);
+        var dataFetcher = createInvoker(method, dgsComponent, invokerClass);
+
+        if (parentType.equals("Subscription")) {
+            if (sharedSubscriptionPublishers.isPresent() && Publisher.class.isAssignableFrom(method.getReturnType())) {
+                var shared = sharedSubscriptionPublishers.get();
+                return env -> shared.share(
+                    env.getFieldDefinition().getName(),
+                    env.getArguments(),
+                    () -> (Publisher<?>) Kt.call(() -> dataFetcher.get(env))
+                );
+            }
+            return dataFetcher;
+        }
 
-        if (isSubscription) {
+        if (trivial) {
+            return new TrivialDataFetcherInvoker(dataFetcher, method.getParameterCount() > 0);
+        }
+
+        if (blockingDataFetcherExecutor.isPresent() && blockingDataFetcherExecutor.get().isBlocking(method) && isSynchronous(method)) {
+            return blockingDataFetcherExecutor.get().offload(dataFetcher);
+        }
+
+        var processors = resultProcessorsFor(method);
+
+        if (processors.isEmpty()) {
             return dataFetcher;
         }
 
+        if (processors.size() == 1) {
+            var processor = processors.get(0);
+            return DataFetcherFactories.wrapDataFetcher(dataFetcher, (dfe, result) ->
+                result != null && processor.supportsType(result)
+                    ? processor.process(result, new DgsDataFetchingEnvironment(dfe))
+                    : result
+            );
+        }
+
         return DataFetcherFactories.wrapDataFetcher(dataFetcher, (dfe, result) -> {
             if (result != null) {
-                var env = new DgsDataFetchingEnvironment(dfe);
-                var p = dataFetcherResultProcessors.stream().filter(it -> it.supportsType(result)).findFirst();
-                return p.isPresent() ? p.get().process(result,env) : result;
-            } else {
-                return null;
+                for (var processor : processors) {
+                    if (processor.supportsType(result)) {
+                        return processor.process(result, new DgsDataFetchingEnvironment(dfe));
+                    }
+                }
             }
+            return result;
         });
     }
 
+    /**
+     * Selects the result processors that could apply to the declared return type once, instead of for every result.
+     */
+    List<DataFetcherResultProcessor> resultProcessorsFor(Method method) {
+        return dataFetcherResultProcessors.stream()
+            .filter(it -> it.supportsReturnType(method.getReturnType()))
+            .toList();
+    }
+
+    /**
+     * A data fetcher is synchronous if it returns a plain value, that needs no result processing.
+     */
+    boolean isSynchronous(Method method) {
+        return !CompletionStage.class.isAssignableFrom(method.getReturnType()) && resultProcessorsFor(method).isEmpty();
+    }
+
+    /**
+     * A data fetcher is trivial if it is marked with @DgsTrivialDataFetcher, or if it is a synchronous method without
+     * arguments on a non-root type whose result needs no processing. A blocking data fetcher, i.e. one that the
+     * [BlockingDataFetcherExecutor] offloads, is never trivial, since it would block the thread that completes fields.
+     */
+    boolean isTrivialDataFetcher(Method method, String parentType) {
+        if (blockingDataFetcherExecutor.isPresent() && blockingDataFetcherExecutor.get().isBlocking(method)) {
+            return false;
+        }
+        var synchronous = isSynchronous(method);
+        var annotation = method.getAnnotation(DgsTrivialDataFetcher.class);
+        if (annotation != null) {
+            if (annotation.value() && !synchronous) {
+                logger.warn("Ignoring @DgsTrivialDataFetcher on {}, trivial data fetchers must return a plain value", method);
+                return false;
+            }
+            return annotation.value() && !parentType.equals("Subscription");
+        }
+        return synchronous
+            && method.getParameterCount() == 0
+            && method.getReturnType() != void.class
+            && !ROOT_TYPES.contains(parentType);
+    }
+
+    /**
+     * Returns the build-time generated invoker for the method if there is one, else a reflective [DataFetcherInvoker].
+     */
+    @SuppressWarnings("unchecked")
+    DataFetcher<Object> createInvoker(
+        Method method,
+        Object dgsComponent,
+        String invokerClass
+    ) {
+        if (invokerClass != null) {
+            try {
+                var invoker = ClassUtils.forName(invokerClass, AopUtils.getTargetClass(dgsComponent).getClassLoader());
+                return (DataFetcher<Object>) invoker.getConstructor(Object.class).newInstance(dgsComponent);
+            } catch (Exception | LinkageError ex) {
+                logger.debug("Unable to use generated invoker {}, falling back to reflection", invokerClass, ex);
+            }
+        }
+        return methodDataFetcherFactory.createDataFetcher(dgsComponent, method);
+    }
+
     void findTypeResolvers(
         Collection<? extends Object> dgsComponents,
         RuntimeWiring.Builder runtimeWiringBuilder,
@@ -465,9 +682,7 @@ public final class DgsSchemaProvider {
         var registeredTypeResolvers = new HashSet<String>();
 
         dgsComponents.forEach(dgsComponent -> {
-            var javaClass = AopUtils.getTargetClass(dgsComponent);
-            Arrays.stream(javaClass.getMethods())
-                .filter(it -> it.isAnnotationPresent(DgsTypeResolver.class) )
+            typeResolverMethods(dgsComponent)
                 .forEach(method -> {
                     var annotation = method.getAnnotation(DgsTypeResolver.class);
 
@@ -487,9 +702,8 @@ public final class DgsSchemaProvider {
                     var defaultTypeResolver = method.getAnnotation(DgsDefaultTypeResolver.class);
                     if (defaultTypeResolver != null) {
                         overrideTypeResolver = dgsComponents.stream().anyMatch(component -> {
-                            return Arrays.stream(component.getClass().getMethods()).anyMatch(_method -> {
-                                return _method.isAnnotationPresent(DgsTypeResolver.class) &&
-                                    _method.getAnnotation(DgsTypeResolver.class).name().equals(annotation.name()) &&
+                            return typeResolverMethods(component).anyMatch(_method -> {
+                                return _method.getAnnotation(DgsTypeResolver.class).name().equals(annotation.name()) &&
                                     !component.equals(dgsComponent);
                             });
                         });
@@ -533,6 +747,15 @@ public final class DgsSchemaProvider {
         checkTypeResolverExists(unregisteredUnionTypes, runtimeWiringBuilder, "union");
     }
 
+    Stream<Method> typeResolverMethods(Object dgsComponent) {
+        var javaClass = AopUtils.getTargetClass(dgsComponent);
+        var methods = usesManifest(dgsComponent)
+            ? wiringManifest.get().typeResolvers(dgsComponent).stream()
+                .map(it -> DgsWiringManifest.findMethod(javaClass, it.method(), it.parameterTypes()))
+            : Arrays.stream(javaClass.getMethods());
+        return methods.filter(it -> it.isAnnotationPresent(DgsTypeResolver.class));
+    }
+
     void checkTypeResolverExists(
         Collection<String> unregisteredTypes,
         RuntimeWiring.Builder runtimeWiringBuilder,
@@ -626,6 +849,8 @@ public final class DgsSchemaProvider {
 
     public static final String DEFAULT_SCHEMA_LOCATION = "classpath*:schema/**/*.graphql*";
 
+    static final Set<String> ROOT_TYPES = Set.of("Query", "Mutation", "Subscription");
+
     private static final Logger logger = LoggerFactory.getLogger(DgsSchemaProvider.class);
 
 }
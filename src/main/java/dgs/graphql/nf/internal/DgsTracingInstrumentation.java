@@ -0,0 +1,188 @@
+package dgs.graphql.nf.internal;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.language.Document;
+import graphql.validation.ValidationError;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Traces the phases of each request with nanosecond timings: building the DgsContext and the data loader registry,
+ * parsing, validation, execution, and the fetching of each field by a non-trivial data fetcher.
+ * <p>
+ * The request is recorded as a {@value #REQUEST_OBSERVATION} Observation, with a child Observation per phase; field
+ * fetches are only observed if fieldObservations is set, since they are numerous. The phases before execution are
+ * added to the request Observation as key values, as they happen before it starts. If responseExtension is set,
+ * the timings are also added to the response as the {@value #EXTENSION_KEY} extension.
+ * <p>
+ * Serialization of the response happens after the execution, outside of this instrumentation; it is timed by the
+ * debug logging of [DgsExecutionResult#toSpringResponse].
+ */
+public class DgsTracingInstrumentation extends SimplePerformantInstrumentation {
+
+    public static final String REQUEST_OBSERVATION = "graphql.request";
+    public static final String EXTENSION_KEY = "dgsTracing";
+
+    private final ObservationRegistry observationRegistry;
+    private final boolean fieldObservations;
+    private final boolean responseExtension;
+
+    public DgsTracingInstrumentation(ObservationRegistry observationRegistry, boolean fieldObservations, boolean responseExtension) {
+        this.observationRegistry = observationRegistry;
+        this.fieldObservations = fieldObservations;
+        this.responseExtension = responseExtension;
+    }
+
+    record FieldTiming(String path, String parentType, String field, long startOffsetNanos, long durationNanos) {}
+
+    static final class TracingState implements InstrumentationState {
+        final long startNanos;
+        final DgsExecutionTimings timings;
+        final Observation request;
+        final Map<String, Long> phases = new ConcurrentHashMap<>();
+        final Queue<FieldTiming> fields = new ConcurrentLinkedQueue<>();
+
+        TracingState(long startNanos, DgsExecutionTimings timings, Observation request) {
+            this.startNanos = startNanos;
+            this.timings = timings;
+            this.request = request;
+        }
+
+        Map<String, Object> toExtension() {
+            var phaseTimings = new LinkedHashMap<String, Object>();
+            if (timings != null) {
+                phaseTimings.put("contextBuild", timings.getContextBuildNanos());
+                phaseTimings.put("dataLoaderRegistry", timings.getDataLoaderRegistryNanos());
+            }
+            for (var phase : List.of("parse", "validate", "execution")) {
+                var nanos = phases.get(phase);
+                if (nanos != null) phaseTimings.put(phase, nanos);
+            }
+            var extension = new LinkedHashMap<String, Object>();
+            extension.put("durationNanos", System.nanoTime() - (timings != null ? timings.getRequestStartNanos() : startNanos));
+            extension.put("phases", phaseTimings);
+            extension.put("fields", fields.stream().map(it -> {
+                var field = new LinkedHashMap<String, Object>();
+                field.put("path", it.path());
+                field.put("parentType", it.parentType());
+                field.put("field", it.field());
+                field.put("startOffsetNanos", it.startOffsetNanos());
+                field.put("durationNanos", it.durationNanos());
+                return field;
+            }).toList());
+            return extension;
+        }
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        var timings = DgsExecutionTimings.from(parameters.getExecutionInput().getGraphQLContext());
+        var request = Observation.createNotStarted(REQUEST_OBSERVATION, observationRegistry);
+        var operationName = parameters.getExecutionInput().getOperationName();
+        if (operationName != null) {
+            request.lowCardinalityKeyValue("graphql.operation.name", operationName);
+        }
+        if (timings != null) {
+            request.highCardinalityKeyValue("graphql.context.build.nanos", String.valueOf(timings.getContextBuildNanos()));
+            request.highCardinalityKeyValue("graphql.dataloader.registry.nanos", String.valueOf(timings.getDataLoaderRegistryNanos()));
+        }
+        return new TracingState(System.nanoTime(), timings, request.start());
+    }
+
+    @Override
+    public InstrumentationContext<Document> beginParse(InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        return phase((TracingState) state, "parse");
+    }
+
+    @Override
+    public InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters, InstrumentationState state) {
+        return phase((TracingState) state, "validate");
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        return phase((TracingState) state, "execution");
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        // the fields are only timed for the response extension and observed for fieldObservations
+        if (parameters.isTrivialDataFetcher() || !(responseExtension || fieldObservations)) {
+            return super.beginFieldFetch(parameters, state);
+        }
+        var tracingState = (TracingState) state;
+        var start = System.nanoTime();
+        var environment = parameters.getEnvironment();
+        var parentType = environment.getExecutionStepInfo().getObjectType().getName();
+        var field = environment.getFieldDefinition().getName();
+        var path = environment.getExecutionStepInfo().getPath().toString();
+
+        var observation = fieldObservations
+            ? Observation.createNotStarted("graphql.field", observationRegistry)
+                .parentObservation(tracingState.request)
+                .lowCardinalityKeyValue("graphql.field", parentType + "." + field)
+                .highCardinalityKeyValue("graphql.path", path)
+                .start()
+            : null;
+
+        return SimpleInstrumentationContext.whenCompleted((result, error) -> {
+            if (responseExtension) {
+                var end = System.nanoTime();
+                tracingState.fields.add(new FieldTiming(path, parentType, field, start - tracingState.startNanos, end - start));
+            }
+            if (observation != null) {
+                if (error != null) observation.error(error);
+                observation.stop();
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        var tracingState = (TracingState) state;
+        tracingState.request.stop();
+        if (!responseExtension) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        var extensions = new LinkedHashMap<Object, Object>();
+        if (executionResult.getExtensions() != null) {
+            extensions.putAll(executionResult.getExtensions());
+        }
+        extensions.put(EXTENSION_KEY, tracingState.toExtension());
+        return CompletableFuture.completedFuture(
+            ExecutionResultImpl.newExecutionResult().from(executionResult).extensions(extensions).build()
+        );
+    }
+
+    <T> InstrumentationContext<T> phase(TracingState state, String name) {
+        var start = System.nanoTime();
+        var observation = Observation.createNotStarted("graphql." + name, observationRegistry)
+            .parentObservation(state.request)
+            .start();
+        return SimpleInstrumentationContext.whenCompleted((result, error) -> {
+            state.phases.put(name, System.nanoTime() - start);
+            if (error != null) observation.error(error);
+            observation.stop();
+        });
+    }
+
+}
@@ -0,0 +1,170 @@
+package dgs.graphql.nf.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import java.lang.reflect.Method;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * The DGS bindings recorded at build time by the dgs-processor annotation processor.
+ * When a manifest is available the [DgsSchemaProvider] and [DgsDataLoaderProvider] look up the annotated
+ * methods and fields of each component here, instead of reflectively scanning every component. Components whose class
+ * is not in the manifest, e.g. from a jar built without the processor, or a manifest of an older processor, are still
+ * scanned; see {@link #covers(Class)}.
+ *
+ * @see #LOCATION
+ */
+public final class DgsWiringManifest {
+
+    public static final String LOCATION = "META-INF/dgs/wiring.manifest";
+
+    public record DataFetcherBinding(String method, List<String> parameterTypes, String parentType, String field, String invoker) {}
+    public record MethodBinding(String method, List<String> parameterTypes, String name) {}
+
+    private final Map<String, List<DataFetcherBinding>> dataFetchers = new LinkedHashMap<>();
+    private final Map<String, List<MethodBinding>> entityFetchers = new LinkedHashMap<>();
+    private final Map<String, List<MethodBinding>> typeResolvers = new LinkedHashMap<>();
+    private final Map<String, String> dataLoaders = new LinkedHashMap<>();
+    private final Map<String, List<String>> dataLoaderFields = new LinkedHashMap<>();
+    private final Set<String> components = new HashSet<>();
+
+    private DgsWiringManifest() {}
+
+    /**
+     * Reads and merges all manifests visible to the given class loader.
+     */
+    public static DgsWiringManifest load(ClassLoader classLoader) {
+        var manifest = new DgsWiringManifest();
+        try {
+            var resources = classLoader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                var url = resources.nextElement();
+                try (var reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                    reader.lines().filter(it -> !it.isBlank()).forEach(manifest::add);
+                }
+                logger.debug("Loaded DGS wiring manifest from {}", url);
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to read " + LOCATION, ex);
+        }
+        return manifest;
+    }
+
+    void add(String line) {
+        var v = line.split("\t");
+        switch (v[0]) {
+            case "COMPONENT" -> components.add(v[1]);
+            case "DATA" -> bindings(dataFetchers, v[1]).add(new DataFetcherBinding(v[2], parameterTypes(v[3]), v[4], v[5], optional(v[6])));
+            case "ENTITY" -> bindings(entityFetchers, v[1]).add(new MethodBinding(v[2], parameterTypes(v[3]), v[4]));
+            case "TYPE_RESOLVER" -> bindings(typeResolvers, v[1]).add(new MethodBinding(v[2], parameterTypes(v[3]), v[4]));
+            case "LOADER" -> dataLoaders.put(v[1], optional(v[2]));
+            case "LOADER_FIELD" -> bindings(dataLoaderFields, v[1]).add(v[2]);
+            default -> logger.warn("Ignoring unknown DGS wiring manifest entry: {}", line);
+        }
+    }
+
+    public boolean isEmpty() {
+        return components.isEmpty() && dataFetchers.isEmpty() && entityFetchers.isEmpty() && typeResolvers.isEmpty()
+            && dataLoaders.isEmpty() && dataLoaderFields.isEmpty();
+    }
+
+    /**
+     * Whether the processor recorded all the bindings of the class, including those it inherits; if not, the class has
+     * to be scanned.
+     */
+    public boolean covers(Class<?> targetClass) {
+        return components.contains(targetClass.getName());
+    }
+
+    public boolean covers(Object dgsComponent) {
+        return covers(AopUtils.getTargetClass(dgsComponent));
+    }
+
+    public List<DataFetcherBinding> dataFetchers(Object dgsComponent) {
+        return dataFetchers.getOrDefault(AopUtils.getTargetClass(dgsComponent).getName(), Collections.emptyList());
+    }
+
+    public List<MethodBinding> entityFetchers(Object dgsComponent) {
+        return entityFetchers.getOrDefault(AopUtils.getTargetClass(dgsComponent).getName(), Collections.emptyList());
+    }
+
+    public List<MethodBinding> typeResolvers(Object dgsComponent) {
+        return typeResolvers.getOrDefault(AopUtils.getTargetClass(dgsComponent).getName(), Collections.emptyList());
+    }
+
+    public List<String> dataLoaderFields(Object dgsComponent) {
+        return dataLoaderFields.getOrDefault(AopUtils.getTargetClass(dgsComponent).getName(), Collections.emptyList());
+    }
+
+    public boolean isDataLoader(Class<?> targetClass) {
+        return dataLoaders.containsKey(targetClass.getName());
+    }
+
+    /** The name of the @DgsDispatchPredicate field of a data loader class, or null if there is none. */
+    public String dispatchPredicateField(Class<?> targetClass) {
+        return dataLoaders.get(targetClass.getName());
+    }
+
+    /**
+     * Find the method with the given name and (erased, canonical) parameter type names.
+     */
+    public static Method findMethod(Class<?> targetClass, String name, List<String> parameterTypes) {
+        // the superclasses first, their methods take precedence over the default methods of interfaces
+        for (var type = targetClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            var method = findDeclaredMethod(type, name, parameterTypes);
+            if (method != null) {
+                return method;
+            }
+        }
+        for (var type : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+            var method = findDeclaredMethod(type, name, parameterTypes);
+            if (method != null) {
+                return method;
+            }
+        }
+        throw new IllegalStateException("DGS wiring manifest refers to " + targetClass.getName() + "." + name + parameterTypes + " which was not found; the manifest is out of date");
+    }
+
+    static Method findDeclaredMethod(Class<?> type, String name, List<String> parameterTypes) {
+        for (var method : type.getDeclaredMethods()) {
+            if (method.getName().equals(name) && !method.isBridge() && method.getParameterCount() == parameterTypes.size()
+                && Arrays.stream(method.getParameterTypes()).map(Class::getCanonicalName).toList().equals(parameterTypes)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    static <T> List<T> bindings(Map<String, List<T>> map, String key) {
+        return map.computeIfAbsent(key, k -> new ArrayList<>());
+    }
+
+    static List<String> parameterTypes(String value) {
+        return value.equals("-") ? Collections.emptyList() : List.of(value.split(","));
+    }
+
+    static String optional(String value) {
+        return value.equals("-") ? null : value;
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(DgsWiringManifest.class);
+
+}
@@ -0,0 +1,201 @@
+package dgs.graphql.nf.internal;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import graphql.ExecutionInput;
+import graphql.execution.CoercedVariables;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.validation.Validator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import dgs.graphql.nf.exceptions.InvalidDgsConfigurationException;
+import dgs.graphql.nf.exceptions.TypedGraphQLError;
+import dgs.graphql.nf.internal.QueryCostInstrumentation.QueryCost;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Restricts execution to the operations of a manifest, a map from operation ids to their documents, e.g. generated by
+ * the build of the clients.
+ * <p>
+ * The documents are parsed and validated against the schema once, when the allow-list is compiled; if a
+ * [QueryCostInstrumentation] is given, their cost is also computed, with the default list sizes, and documents over its
+ * limits are rejected as well. A manifest with invalid documents fails to compile with an
+ * [InvalidDgsConfigurationException] that lists all of them. The allow-list is recompiled by {@link #reload}, when the
+ * schema is reloaded, not on the request path; if it does not compile against the reloaded schema, the error is logged
+ * and the operations of the last compilation stay allowed, but they are parsed and validated per request, against the
+ * schema they are executed with, until the allow-list compiles again.
+ * <p>
+ * A request names its operation by the {@code sha256Hash} of the {@code persistedQuery} extension, or by sending the id
+ * as the query; a query that is exactly the document of an operation also resolves to it. As a PreparsedDocumentProvider,
+ * the allow-list gives GraphQL the precompiled document, so that neither parsing nor validation runs per request, and an
+ * error for any other query, so that it is not executed.
+ */
+public class OperationAllowList implements PreparsedDocumentProvider {
+
+    public static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+    public static final String HASH_KEY = "sha256Hash";
+
+    /**
+     * A precompiled operation; cost is the highest cost of the operations of its document, or null if it was not computed.
+     */
+    public record Operation(String id, String query, PreparsedDocumentEntry entry, QueryCost cost) {}
+
+    private record Compiled(GraphQLSchema schema, Map<String, Operation> byId, Map<String, Operation> byQuery) {}
+
+    private final Map<String, String> manifest;
+    private final QueryCostInstrumentation queryCost;
+    private volatile Compiled compiled;
+    // the schema that the operations are executed with, which the compilation may lag behind
+    private volatile GraphQLSchema schema;
+
+    /**
+     * @param manifest  the documents of the allowed operations, by their id
+     * @param queryCost the limits for the cost of the operations, or null
+     */
+    public OperationAllowList(Map<String, String> manifest, QueryCostInstrumentation queryCost) {
+        this.manifest = Map.copyOf(manifest);
+        this.queryCost = queryCost;
+    }
+
+    /**
+     * Reads a manifest, a JSON object with the documents of the operations by their id.
+     */
+    public static Map<String, String> readManifest(InputStream json) throws IOException {
+        return BaseDgsQueryExecutor.objectMapper.readValue(json, new TypeReference<LinkedHashMap<String, String>>() {});
+    }
+
+    /**
+     * Parses, validates and checks the cost of every operation of the manifest against the schema.
+     */
+    public synchronized void compile(GraphQLSchema schema) {
+        this.schema = schema;
+        var current = compiled;
+        if (current != null && current.schema() == schema) {
+            return;
+        }
+        var byId = new HashMap<String, Operation>();
+        var byQuery = new HashMap<String, Operation>();
+        var problems = new ArrayList<String>();
+        var validator = new Validator();
+
+        manifest.forEach((id, query) -> {
+            Document document;
+            try {
+                document = Parser.parse(query);
+            } catch (Exception e) {
+                problems.add(id + ": " + e.getMessage());
+                return;
+            }
+            var errors = validator.validateDocument(schema, document, Locale.getDefault());
+            if (!errors.isEmpty()) {
+                errors.forEach(it -> problems.add(id + ": " + it.getMessage()));
+                return;
+            }
+            QueryCost cost = null;
+            if (queryCost != null) {
+                for (var operation : document.getDefinitionsOfType(OperationDefinition.class)) {
+                    var operationCost = queryCost.cost(schema, document, operation.getName(), CoercedVariables.emptyVariables());
+                    var violation = queryCost.limitViolation(operationCost);
+                    if (violation != null) {
+                        problems.add(id + ": " + violation);
+                    }
+                    if (cost == null || operationCost.cost() > cost.cost()) {
+                        cost = operationCost;
+                    }
+                }
+            }
+            var operation = new Operation(id, query, new PreparsedDocumentEntry(document), cost);
+            byId.put(id, operation);
+            byQuery.put(query, operation);
+        });
+
+        if (!problems.isEmpty()) {
+            throw new InvalidDgsConfigurationException(
+                "The operation allow-list has " + problems.size() + " invalid operations:\n" + String.join("\n", problems)
+            );
+        }
+        compiled = new Compiled(schema, Map.copyOf(byId), Map.copyOf(byQuery));
+    }
+
+    /**
+     * Recompiles the allow-list against a reloaded schema; if it does not compile, the last compilation is kept.
+     */
+    public synchronized void reload(GraphQLSchema schema) {
+        if (this.schema == schema) {
+            return;
+        }
+        try {
+            compile(schema);
+        } catch (InvalidDgsConfigurationException e) {
+            logger.error("The operation allow-list does not compile against the reloaded schema, its operations are validated per request", e);
+        }
+    }
+
+    /**
+     * The operation a request names, by the hash of its persistedQuery extension, its query as an id, or its query as
+     * the document; null if it is not allowed.
+     */
+    public Operation resolve(String query, Map<String, Object> extensions) {
+        var current = compiled;
+        if (current == null) {
+            return null;
+        }
+        if (extensions != null && extensions.get(PERSISTED_QUERY_EXTENSION) instanceof Map<?, ?> persistedQuery
+            && persistedQuery.get(HASH_KEY) instanceof String hash) {
+            return current.byId().get(hash);
+        }
+        return query != null ? lookup(current, query) : null;
+    }
+
+    static Operation lookup(Compiled compiled, String query) {
+        var operation = compiled.byId().get(query);
+        return operation != null ? operation : compiled.byQuery().get(query);
+    }
+
+    /** The allowed operations, by their id. */
+    public Map<String, Operation> getOperations() {
+        var current = compiled;
+        return current != null ? current.byId() : Map.of();
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        var current = compiled;
+        var operation = current != null ? lookup(current, executionInput.getQuery()) : null;
+        if (operation == null) {
+            return new PreparsedDocumentEntry(unknownOperationError());
+        }
+        // the precompiled document is only valid for the schema it was compiled against
+        return current.schema() == schema ? operation.entry() : parseAndValidateFunction.apply(executionInput);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return CompletableFuture.completedFuture(getDocument(executionInput, parseAndValidateFunction));
+    }
+
+    static TypedGraphQLError unknownOperationError() {
+        return TypedGraphQLError.newBadRequestBuilder()
+            .message("The operation is not in the allow-list")
+            .build();
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationAllowList.class);
+
+}
@@ -0,0 +1,77 @@
+package dgs.graphql.nf.internal;
+
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.parser.Parser;
+
+import java.util.Map;
+
+/**
+ * The parsed documents of queries, shared by the layers that look at a query before it is executed, e.g. the
+ * [ResponseCache], the [SingleFlight] and the batches of the [DefaultDgsQueryExecutor], so that a query is parsed once
+ * for all of them. graphql-java still parses the query to execute it, unless a PreparsedDocumentProvider has it.
+ * <p>
+ * At most maxEntries documents are kept, the least recently used are evicted first. A query that does not parse is
+ * remembered as well, the execution reports its error.
+ */
+public class ParsedDocuments {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    // the marker of a query that does not parse
+    private static final Document INVALID = Document.newDocument().build();
+
+    private final Map<String, Document> documents;
+
+    public ParsedDocuments(int maxEntries) {
+        this.documents = ResponseCache.lruMap(maxEntries);
+    }
+
+    /**
+     * The document of the query, or null if it does not parse.
+     */
+    public Document document(String query) {
+        if (query == null) {
+            return null;
+        }
+        var document = documents.get(query);
+        if (document == null) {
+            // parsed outside of the lock; a query that is parsed twice concurrently gets an equal document
+            document = parse(query);
+            documents.put(query, document);
+        }
+        return document != INVALID ? document : null;
+    }
+
+    /**
+     * The operation of the query that is executed for the operation name, or null if there is none.
+     */
+    public OperationDefinition operation(String query, String operationName) {
+        var document = document(query);
+        if (document == null) {
+            return null;
+        }
+        var operations = document.getDefinitionsOfType(OperationDefinition.class);
+        return operations.stream()
+            .filter(it -> operationName == null ? operations.size() == 1 : operationName.equals(it.getName()))
+            .findFirst()
+            .orElse(null);
+    }
+
+    /**
+     * The type of the operation of the query that is executed for the operation name, or null if there is none.
+     */
+    public OperationDefinition.Operation operationType(String query, String operationName) {
+        var operation = operation(query, operationName);
+        return operation != null ? operation.getOperation() : null;
+    }
+
+    static Document parse(String query) {
+        try {
+            return Parser.parse(query);
+        } catch (Exception e) {
+            return INVALID;
+        }
+    }
+
+}
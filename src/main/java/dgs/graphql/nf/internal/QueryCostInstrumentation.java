@@ -0,0 +1,243 @@
+package dgs.graphql.nf.internal;
+
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.CoercedVariables;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dgs.graphql.nf.DgsCost;
+import dgs.graphql.nf.exceptions.TypedGraphQLError;
+
+/**
+ * Computes the cost and the depth of every operation after it is validated, and rejects the operations that exceed the
+ * maximum cost or depth with a BAD_REQUEST error, before any data fetcher runs.
+ * <p>
+ * The cost of a field is its weight, plus the cost of its selections; for list fields the cost of the selections is
+ * multiplied by the size of the list. The weight of a field is set with a {@code @cost(weight: Int!)} directive on its
+ * definition, or a [DgsCost] annotation on its data fetcher, and is 1 otherwise. The size of a list is the value of
+ * the first of the listSizeArguments that is given, e.g. {@code first} or {@code limit}, and defaultListSize otherwise.
+ * <p>
+ * The cost of an operation without variables only depends on the query and the schema, so it is cached by the text of
+ * the query and the operation name, for the most recently used queries, and computed once per query and schema. If a MeterRegistry is given, the cost and the depth are
+ * recorded in {@value #COST_METRIC} and {@value #DEPTH_METRIC}, tagged with the outcome.
+ */
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    public static final String COST_METRIC = "dgs.graphql.query.cost";
+    public static final String DEPTH_METRIC = "dgs.graphql.query.depth";
+    public static final String COST_DIRECTIVE = "cost";
+
+    public record QueryCost(long cost, int depth) {}
+
+    private record CostKey(String query, String operationName) {}
+
+    private record CachedCost(GraphQLSchema schema, QueryCost cost) {}
+
+    private record FieldWeights(GraphQLSchema schema, Map<String, Integer> weights) {}
+
+    private final long maxCost;
+    private final int maxDepth;
+    private final int defaultListSize;
+    private final List<String> listSizeArguments;
+    private final DgsSchemaProvider schemaProvider;
+    private final MeterRegistry meterRegistry;
+
+    // by the text of the query, since each execution parses a new Document unless a PreparsedDocumentProvider has it
+    private final Map<CostKey, CachedCost> costs = ResponseCache.lruMap(ParsedDocuments.DEFAULT_MAX_ENTRIES);
+    private volatile FieldWeights annotatedWeights;
+
+    /**
+     * @param maxCost        the maximum cost of an operation, unlimited if not positive
+     * @param maxDepth       the maximum depth of an operation, unlimited if not positive
+     * @param schemaProvider the provider of the @DgsData fetchers, for their [DgsCost] annotations, or null
+     * @param meterRegistry  the registry for the cost metrics, or null
+     */
+    public QueryCostInstrumentation(
+        long maxCost,
+        int maxDepth,
+        int defaultListSize,
+        List<String> listSizeArguments,
+        DgsSchemaProvider schemaProvider,
+        MeterRegistry meterRegistry
+    ) {
+        this.maxCost = maxCost;
+        this.maxDepth = maxDepth;
+        this.defaultListSize = defaultListSize;
+        this.listSizeArguments = List.copyOf(listSizeArguments);
+        this.schemaProvider = schemaProvider;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        var queryCost = cost(parameters.getExecutionContext());
+        var violation = limitViolation(queryCost);
+
+        if (meterRegistry != null) {
+            var outcome = violation != null ? "rejected" : "accepted";
+            DistributionSummary.builder(COST_METRIC).tag("outcome", outcome).register(meterRegistry).record(queryCost.cost());
+            DistributionSummary.builder(DEPTH_METRIC).tag("outcome", outcome).register(meterRegistry).record(queryCost.depth());
+        }
+
+        if (violation != null) {
+            var error = TypedGraphQLError.newBadRequestBuilder()
+                .message(violation)
+                .extensions(Map.of("cost", queryCost.cost(), "depth", queryCost.depth()))
+                .build();
+            throw new AbortExecutionException(List.of(error));
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    /**
+     * Describes the limit that the cost exceeds, or returns null if it is within the limits.
+     */
+    public String limitViolation(QueryCost queryCost) {
+        if (maxCost > 0 && queryCost.cost() > maxCost) {
+            return "Query cost " + queryCost.cost() + " exceeds the maximum of " + maxCost;
+        }
+        if (maxDepth > 0 && queryCost.depth() > maxDepth) {
+            return "Query depth " + queryCost.depth() + " exceeds the maximum of " + maxDepth;
+        }
+        return null;
+    }
+
+    /**
+     * The cost of the operation of the execution, from the cache if it does not depend on the variables.
+     */
+    public QueryCost cost(ExecutionContext executionContext) {
+        var schema = executionContext.getGraphQLSchema();
+        var operation = executionContext.getOperationDefinition();
+        if (!operation.getVariableDefinitions().isEmpty()) {
+            return computeCost(executionContext);
+        }
+
+        var key = new CostKey(executionContext.getExecutionInput().getQuery(), operation.getName());
+        var cached = costs.get(key);
+        // the weights may change when the schema is reloaded
+        if (cached == null || cached.schema() != schema) {
+            cached = new CachedCost(schema, computeCost(executionContext));
+            costs.put(key, cached);
+        }
+        return cached.cost();
+    }
+
+    QueryCost computeCost(ExecutionContext executionContext) {
+        return cost(
+            executionContext.getGraphQLSchema(),
+            executionContext.getDocument(),
+            executionContext.getOperationDefinition().getName(),
+            executionContext.getCoercedVariables()
+        );
+    }
+
+    /**
+     * The cost of an operation of a document, e.g. to check a document before it is executed; list arguments that are
+     * not given in the variables count as defaultListSize.
+     */
+    public QueryCost cost(GraphQLSchema schema, Document document, String operationName, CoercedVariables variables) {
+        var weights = annotatedWeights(schema);
+        var childCosts = new HashMap<QueryVisitorFieldEnvironment, Long>();
+        var depth = new int[1];
+
+        QueryTraverser.newQueryTraverser()
+            .schema(schema)
+            .document(document)
+            .operationName(operationName)
+            .coercedVariables(variables)
+            .build()
+            .visitPostOrder(new QueryVisitorStub() {
+                @Override
+                public void visitField(QueryVisitorFieldEnvironment env) {
+                    if (env.isTypeNameIntrospectionField()) {
+                        return;
+                    }
+                    // the selections of the field were visited before it
+                    var selectionsCost = childCosts.getOrDefault(env, 0L);
+                    var cost = saturatedAdd(weight(env, weights), saturatedMultiply(listSize(env), selectionsCost));
+                    // the root fields are added up under the null key
+                    childCosts.merge(env.getParentEnvironment(), cost, QueryCostInstrumentation::saturatedAdd);
+
+                    var fieldDepth = 1;
+                    for (var parent = env.getParentEnvironment(); parent != null; parent = parent.getParentEnvironment()) {
+                        fieldDepth++;
+                    }
+                    depth[0] = Math.max(depth[0], fieldDepth);
+                }
+            });
+
+        return new QueryCost(childCosts.getOrDefault(null, 0L), depth[0]);
+    }
+
+    long weight(QueryVisitorFieldEnvironment env, Map<String, Integer> annotatedWeights) {
+        var directive = env.getFieldDefinition().getAppliedDirective(COST_DIRECTIVE);
+        if (directive != null && directive.getArgument("weight") != null) {
+            Number weight = directive.getArgument("weight").getValue();
+            if (weight != null) {
+                return weight.longValue();
+            }
+        }
+        var weight = annotatedWeights.get(env.getFieldsContainer().getName() + "." + env.getFieldDefinition().getName());
+        return weight != null ? weight : 1;
+    }
+
+    long listSize(QueryVisitorFieldEnvironment env) {
+        if (!GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(env.getFieldDefinition().getType()))) {
+            return 1;
+        }
+        for (var argument : listSizeArguments) {
+            if (env.getArguments().get(argument) instanceof Number size) {
+                return Math.max(size.longValue(), 0);
+            }
+        }
+        return defaultListSize;
+    }
+
+    Map<String, Integer> annotatedWeights(GraphQLSchema schema) {
+        if (schemaProvider == null) {
+            return Map.of();
+        }
+        var current = annotatedWeights;
+        if (current == null || current.schema() != schema) {
+            var weights = new HashMap<String, Integer>();
+            for (var dataFetcher : schemaProvider.resolvedDataFetchers()) {
+                var cost = dataFetcher.annotations().get(DgsCost.class);
+                if (cost.isPresent()) {
+                    weights.put(dataFetcher.parentType() + "." + dataFetcher.field(), cost.getInt("value"));
+                }
+            }
+            current = new FieldWeights(schema, Map.copyOf(weights));
+            annotatedWeights = current;
+        }
+        return current.weights();
+    }
+
+    static long saturatedAdd(long a, long b) {
+        var sum = a + b;
+        return ((a ^ sum) & (b ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    static long saturatedMultiply(long a, long b) {
+        var high = Math.multiplyHigh(a, b);
+        var low = a * b;
+        return (high == 0 && low >= 0) || (high == -1 && low < 0) ? low : Long.MAX_VALUE;
+    }
+
+}
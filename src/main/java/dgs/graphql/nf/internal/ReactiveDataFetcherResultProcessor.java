@@ -16,6 +16,10 @@ public interface ReactiveDataFetcherResultProcessor {
             return originalResult instanceof Mono;
         }
         @Override
+        public boolean supportsReturnType(Class<?> returnType) {
+            return returnType.isAssignableFrom(Mono.class) || Mono.class.isAssignableFrom(returnType);
+        }
+        @Override
         public Object process(Object originalResult, DgsDataFetchingEnvironment dfe) {
             if (originalResult instanceof Mono monoResult) {
                 return monoResult.contextWrite(reactorContextFrom(dfe)).toFuture();
@@ -25,15 +29,41 @@ public interface ReactiveDataFetcherResultProcessor {
         }
     }
 
+    /**
+     * Completes a Flux result as a list.
+     * With a positive chunk size, elements are requested from the Flux in chunks of that size instead of all at once,
+     * so a paged reactive repository fetches page by page instead of prefetching the whole result. This only bounds
+     * the upstream demand, not memory: graphql-java completes a list field from the complete value, so all elements
+     * are still collected before the field completes.
+     */
     class FluxDataFetcherResultProcessor implements DataFetcherResultProcessor {
+
+        private final int chunkSize;
+
+        public FluxDataFetcherResultProcessor() {
+            this(0);
+        }
+
+        public FluxDataFetcherResultProcessor(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
         @Override
         public boolean supportsType(Object originalResult) {
             return originalResult instanceof Flux;
         }
         @Override
+        public boolean supportsReturnType(Class<?> returnType) {
+            return returnType.isAssignableFrom(Flux.class) || Flux.class.isAssignableFrom(returnType);
+        }
+        @Override
         public Object process(Object originalResult, DgsDataFetchingEnvironment dfe) {
             if (originalResult instanceof Flux fluxResult) {
-                return fluxResult.contextWrite(reactorContextFrom(dfe)).collectList().toFuture();
+                Flux<?> flux = fluxResult.contextWrite(reactorContextFrom(dfe));
+                if (chunkSize > 0) {
+                    return flux.limitRate(chunkSize).collectList().toFuture();
+                }
+                return flux.collectList().toFuture();
             }
             throw new IllegalArgumentException("Instance passed to " + getClass().getName() + " was not a Flux<*>. It was a " + originalResult.getClass().getName() + " instead");
         }
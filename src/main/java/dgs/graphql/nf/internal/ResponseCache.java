@@ -0,0 +1,329 @@
+package dgs.graphql.nf.internal;
+
+import graphql.ExecutionResult;
+import graphql.language.AstPrinter;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.OperationDefinition;
+import graphql.language.SelectionSet;
+import graphql.schema.GraphQLCompositeType;
+import graphql.schema.GraphQLDirectiveContainer;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import dgs.graphql.nf.DgsExecutionResult;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Caches the complete results of query operations, for the duration given by {@code @cacheControl} directives in the
+ * schema.
+ * <p>
+ * The cache policy of an operation is the minimum maxAge over its selected fields, and is PRIVATE if any of them is.
+ * The maxAge of a field is taken from a {@code @cacheControl(maxAge: Int, scope: CacheControlScope)} directive on its
+ * definition, or else on its type; a field of a scalar or enum type without one inherits the maxAge of its parent
+ * field, and other fields have defaultMaxAge, which is 0 unless configured, i.e. not cacheable. The policy is computed
+ * once per query, against the AST, so fields that are skipped with {@code @skip} or {@code @include} still count.
+ * <p>
+ * Results are cached by their normalized document, operation name, variables, and the values of the keyHeaders, e.g. a
+ * locale or the client. The cache is looked up before the request is authorized, so requests with an authenticated
+ * principal or any of the privateHeaders, e.g. Authorization or Cookie, bypass it, and their results are PRIVATE;
+ * PRIVATE results, results with errors, and results that set response headers are not cached.
+ * At most maxEntries results are kept, the least recently used are evicted first. The policy is added to the results as
+ * a Cache-Control header, and a cached result also gets an Age header. If a MeterRegistry is given, the lookups are
+ * counted in {@value #LOOKUPS_METRIC}, tagged with the outcome.
+ */
+public class ResponseCache {
+
+    public static final String CACHE_CONTROL_DIRECTIVE = "cacheControl";
+    public static final String LOOKUPS_METRIC = "dgs.graphql.response.cache.lookups";
+
+    public enum Scope { PUBLIC, PRIVATE }
+
+    public record CachePolicy(long maxAgeSeconds, Scope scope) {
+
+        public static final CachePolicy NOT_CACHEABLE = new CachePolicy(0, Scope.PUBLIC);
+
+        public boolean isCacheable() {
+            return maxAgeSeconds > 0;
+        }
+
+        public String toHeaderValue(long ageSeconds) {
+            if (!isCacheable()) {
+                return "no-store";
+            }
+            return "max-age=" + Math.max(maxAgeSeconds - ageSeconds, 0) + (scope == Scope.PRIVATE ? ", private" : ", public");
+        }
+    }
+
+    record Key(String document, String operationName, Map<String, Object> variables, List<List<String>> headers) {}
+
+    /**
+     * The result of a lookup: the key and the policy of a query operation, and the cached result if there was one.
+     */
+    public record Lookup(Key key, CachePolicy policy, DgsExecutionResult cachedResult) {}
+
+    private record Entry(ExecutionResult result, CachePolicy policy, long storedAtNanos) {}
+
+    // the document is null for operations that are not cached, e.g. mutations or documents that do not parse
+    private record QueryPolicy(GraphQLSchema schema, String document, CachePolicy policy) {}
+
+    private record QueryKey(String query, String operationName) {}
+
+    private final long defaultMaxAgeSeconds;
+    private final List<String> keyHeaders;
+    private final List<String> privateHeaders;
+    private final Map<Key, Entry> entries;
+    private final Map<QueryKey, QueryPolicy> policies;
+    private final ParsedDocuments parsedDocuments;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypasses;
+
+    public ResponseCache(int maxEntries, long defaultMaxAgeSeconds, List<String> keyHeaders, MeterRegistry meterRegistry) {
+        this(maxEntries, defaultMaxAgeSeconds, keyHeaders, List.of(HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE), new ParsedDocuments(maxEntries), meterRegistry);
+    }
+
+    /**
+     * @param maxEntries           the number of results to keep, and of queries to keep the policy of
+     * @param defaultMaxAgeSeconds the maxAge of the fields without a cache hint
+     * @param keyHeaders           the request headers that the results vary with
+     * @param privateHeaders       the request headers that make a request personalized, so that it bypasses the cache
+     * @param parsedDocuments      the parsed documents, for the policies of the queries
+     * @param meterRegistry        the registry for the lookup metrics, or null
+     */
+    public ResponseCache(
+        int maxEntries,
+        long defaultMaxAgeSeconds,
+        List<String> keyHeaders,
+        List<String> privateHeaders,
+        ParsedDocuments parsedDocuments,
+        MeterRegistry meterRegistry
+    ) {
+        this.defaultMaxAgeSeconds = defaultMaxAgeSeconds;
+        this.keyHeaders = List.copyOf(keyHeaders);
+        this.privateHeaders = List.copyOf(privateHeaders);
+        this.entries = lruMap(maxEntries);
+        this.policies = lruMap(maxEntries);
+        this.parsedDocuments = parsedDocuments;
+        this.hits = meterRegistry != null ? Counter.builder(LOOKUPS_METRIC).tag("outcome", "hit").register(meterRegistry) : null;
+        this.misses = meterRegistry != null ? Counter.builder(LOOKUPS_METRIC).tag("outcome", "miss").register(meterRegistry) : null;
+        this.bypasses = meterRegistry != null ? Counter.builder(LOOKUPS_METRIC).tag("outcome", "bypass").register(meterRegistry) : null;
+    }
+
+    /**
+     * Looks up the result of the operation; returns null for operations that are not cached, e.g. mutations.
+     */
+    public Lookup lookup(
+        GraphQLSchema schema,
+        String query,
+        String operationName,
+        Map<String, Object> variables,
+        HttpHeaders headers,
+        WebRequest webRequest
+    ) {
+        var queryPolicy = policy(schema, query, operationName);
+        if (queryPolicy.document() == null || !queryPolicy.policy().isCacheable()) {
+            increment(bypasses);
+            return queryPolicy.document() == null ? null : new Lookup(null, queryPolicy.policy(), null);
+        }
+        if (isPersonalized(headers, webRequest)) {
+            increment(bypasses);
+            return new Lookup(null, new CachePolicy(queryPolicy.policy().maxAgeSeconds(), Scope.PRIVATE), null);
+        }
+        var key = new Key(
+            queryPolicy.document(),
+            operationName,
+            // a copy, since the execution may change the variables after the key is built
+            variables != null ? Collections.unmodifiableMap(new LinkedHashMap<>(variables)) : Collections.emptyMap(),
+            keyHeaders.stream().map(name -> headers != null ? headers.getOrEmpty(name) : List.<String>of()).toList()
+        );
+        var entry = entries.get(key);
+        if (entry != null) {
+            var ageSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - entry.storedAtNanos());
+            if (ageSeconds < entry.policy().maxAgeSeconds()) {
+                increment(hits);
+                return new Lookup(key, entry.policy(), withPolicy(entry.result(), entry.policy(), ageSeconds));
+            }
+            entries.remove(key, entry);
+        }
+        increment(misses);
+        return new Lookup(key, queryPolicy.policy(), null);
+    }
+
+    /**
+     * Caches the result of a lookup that missed if it can be, and returns it with the Cache-Control header of the policy.
+     */
+    public ExecutionResult store(Lookup lookup, ExecutionResult result) {
+        if (result instanceof DgsExecutionResult) {
+            // e.g. a rejected request, which has a status and headers of its own
+            return result;
+        }
+        var responseHeaders = result.getExtensions() != null && result.getExtensions().containsKey(DgsExecutionResult.DGS_RESPONSE_HEADERS_KEY);
+        if (responseHeaders || !result.getErrors().isEmpty()) {
+            return withPolicy(result, CachePolicy.NOT_CACHEABLE, 0);
+        }
+        var policy = lookup.policy();
+        if (lookup.key() != null && policy.isCacheable() && policy.scope() == Scope.PUBLIC) {
+            entries.put(lookup.key(), new Entry(result, policy, System.nanoTime()));
+        }
+        return withPolicy(result, policy, 0);
+    }
+
+    boolean isPersonalized(HttpHeaders headers, WebRequest webRequest) {
+        if (webRequest != null
+            && (webRequest.getUserPrincipal() != null || privateHeaders.stream().anyMatch(name -> webRequest.getHeader(name) != null))) {
+            return true;
+        }
+        return headers != null && privateHeaders.stream().anyMatch(headers::containsKey);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    static DgsExecutionResult withPolicy(ExecutionResult result, CachePolicy policy, long ageSeconds) {
+        var headers = new HttpHeaders();
+        headers.setCacheControl(policy.toHeaderValue(ageSeconds));
+        if (ageSeconds > 0) {
+            headers.set(HttpHeaders.AGE, String.valueOf(ageSeconds));
+        }
+        return DgsExecutionResult.builder().executionResult(result).headers(headers).build();
+    }
+
+    QueryPolicy policy(GraphQLSchema schema, String query, String operationName) {
+        var queryKey = new QueryKey(query, operationName);
+        var queryPolicy = policies.get(queryKey);
+        if (queryPolicy == null || queryPolicy.schema() != schema) {
+            queryPolicy = computePolicy(schema, query, operationName);
+            policies.put(queryKey, queryPolicy);
+        }
+        return queryPolicy;
+    }
+
+    QueryPolicy computePolicy(GraphQLSchema schema, String query, String operationName) {
+        // a query that does not parse is not cached, the execution reports the error
+        var document = parsedDocuments.document(query);
+        var operation = parsedDocuments.operation(query, operationName);
+        if (document == null || operation == null || operation.getOperation() != OperationDefinition.Operation.QUERY) {
+            return new QueryPolicy(schema, null, CachePolicy.NOT_CACHEABLE);
+        }
+        var fragments = new LinkedHashMap<String, FragmentDefinition>();
+        document.getDefinitionsOfType(FragmentDefinition.class).forEach(it -> fragments.put(it.getName(), it));
+
+        var policy = new PolicyBuilder(schema, fragments);
+        policy.visit(operation.getSelectionSet(), schema.getQueryType(), defaultMaxAgeSeconds, new HashSet<>());
+        return new QueryPolicy(schema, AstPrinter.printAstCompact(document), policy.build());
+    }
+
+    final class PolicyBuilder {
+        private final GraphQLSchema schema;
+        private final Map<String, FragmentDefinition> fragments;
+        private long maxAgeSeconds = Long.MAX_VALUE;
+        private Scope scope = Scope.PUBLIC;
+
+        PolicyBuilder(GraphQLSchema schema, Map<String, FragmentDefinition> fragments) {
+            this.schema = schema;
+            this.fragments = fragments;
+        }
+
+        void visit(SelectionSet selectionSet, GraphQLType parentType, long parentMaxAge, Set<String> spreads) {
+            if (selectionSet == null) {
+                return;
+            }
+            for (var selection : selectionSet.getSelections()) {
+                switch (selection) {
+                    case Field field -> visitField(field, parentType, parentMaxAge, spreads);
+                    case InlineFragment fragment -> visit(
+                        fragment.getSelectionSet(),
+                        fragment.getTypeCondition() != null ? schema.getType(fragment.getTypeCondition().getName()) : parentType,
+                        parentMaxAge,
+                        spreads
+                    );
+                    case FragmentSpread spread -> {
+                        var fragment = fragments.get(spread.getName());
+                        // a fragment cycle is invalid, and rejected by the validation
+                        if (fragment != null && spreads.add(spread.getName())) {
+                            visit(fragment.getSelectionSet(), schema.getType(fragment.getTypeCondition().getName()), parentMaxAge, spreads);
+                            spreads.remove(spread.getName());
+                        }
+                    }
+                    default -> {}
+                }
+            }
+        }
+
+        void visitField(Field field, GraphQLType parentType, long parentMaxAge, Set<String> spreads) {
+            if (field.getName().startsWith("__") || !(parentType instanceof GraphQLFieldsContainer container)) {
+                return;
+            }
+            var definition = container.getFieldDefinition(field.getName());
+            if (definition == null) {
+                return;
+            }
+            var type = GraphQLTypeUtil.unwrapAll(definition.getType());
+            var hint = hint(definition);
+            if (hint == null && type instanceof GraphQLDirectiveContainer directiveContainer) {
+                hint = hint(directiveContainer);
+            }
+            var fieldMaxAge = hint != null && hint.maxAgeSeconds() >= 0 ? hint.maxAgeSeconds()
+                : GraphQLTypeUtil.isLeaf(type) ? parentMaxAge
+                : defaultMaxAgeSeconds;
+            maxAgeSeconds = Math.min(maxAgeSeconds, fieldMaxAge);
+            if (hint != null && hint.scope() == Scope.PRIVATE) {
+                scope = Scope.PRIVATE;
+            }
+            if (type instanceof GraphQLCompositeType) {
+                visit(field.getSelectionSet(), type, fieldMaxAge, spreads);
+            }
+        }
+
+        CachePolicy build() {
+            return new CachePolicy(maxAgeSeconds == Long.MAX_VALUE ? defaultMaxAgeSeconds : maxAgeSeconds, scope);
+        }
+    }
+
+    /** The hint of a {@code @cacheControl} directive, with a negative maxAge if it only sets the scope. */
+    static CachePolicy hint(GraphQLDirectiveContainer container) {
+        var directive = container.getAppliedDirective(CACHE_CONTROL_DIRECTIVE);
+        if (directive == null) {
+            return null;
+        }
+        var maxAge = directive.getArgument("maxAge") != null ? directive.getArgument("maxAge").getValue() : null;
+        var scope = directive.getArgument("scope") != null ? directive.getArgument("scope").getValue() : null;
+        return new CachePolicy(
+            maxAge instanceof Number number ? number.longValue() : -1,
+            scope != null && Scope.PRIVATE.name().equals(scope.toString()) ? Scope.PRIVATE : Scope.PUBLIC
+        );
+    }
+
+    static void increment(Counter counter) {
+        if (counter != null) counter.increment();
+    }
+
+    static <K, V> Map<K, V> lruMap(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+}
@@ -0,0 +1,87 @@
+package dgs.graphql.nf.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Multicasts the source events of identical subscriptions, so that N clients subscribed to the same field with the same
+ * arguments share a single upstream Publisher instead of creating N.
+ * <p>
+ * The upstream is subscribed when the first client subscribes and cancelled when the last one cancels; a later
+ * subscription then creates a new upstream. Only enable this when a subscription's source events do not depend on
+ * the subscriber, e.g. on authorization in the DgsContext, since every client receives the events of the first.
+ * <p>
+ * The data fetcher is called when a client subscribes and no upstream is shared yet, outside of any lock, so it may do
+ * I/O or share other subscriptions. If two clients race to create the same upstream, one of them is used and the other
+ * is never subscribed.
+ */
+public class SharedSubscriptionPublishers {
+
+    record Key(String field, Map<String, Object> arguments) {}
+
+    /**
+     * An upstream and its subscribers; it is retired, and removed, when the last subscriber leaves, and is never joined
+     * after that, so that a new subscriber cannot reconnect to an upstream that is no longer shared.
+     */
+    final class Shared {
+        private final Key key;
+        private final Flux<Object> flux;
+        private int subscribers;
+        private boolean retired;
+
+        Shared(Key key, Flux<Object> upstream) {
+            this.key = key;
+            this.flux = upstream.publish().refCount();
+        }
+
+        synchronized Flux<Object> join() {
+            if (retired) {
+                return null;
+            }
+            subscribers++;
+            return flux.doFinally(signal -> leave());
+        }
+
+        synchronized void leave() {
+            if (--subscribers == 0) {
+                retired = true;
+                publishers.remove(key, this);
+            }
+        }
+    }
+
+    private final Map<Key, Shared> publishers = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public Publisher<Object> share(String field, Map<String, Object> arguments, Supplier<Publisher<?>> upstream) {
+        var key = new Key(field, arguments);
+        return Flux.defer(() -> {
+            while (true) {
+                var shared = publishers.get(key);
+                if (shared == null) {
+                    var created = new Shared(key, Flux.from((Publisher<Object>) upstream.get()));
+                    shared = publishers.putIfAbsent(key, created);
+                    if (shared == null) {
+                        shared = created;
+                    }
+                }
+                var flux = shared.join();
+                if (flux != null) {
+                    return flux;
+                }
+                // the last subscriber left in the meantime, the next lookup finds a new upstream or none
+            }
+        });
+    }
+
+    /** The number of upstream publishers that currently have subscribers. */
+    public int size() {
+        return publishers.size();
+    }
+
+}
@@ -0,0 +1,125 @@
+package dgs.graphql.nf.internal;
+
+import graphql.ExecutionResult;
+import graphql.language.OperationDefinition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import dgs.graphql.nf.support.Kt;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Coalesces identical executions that are in flight at the same time: the first one runs, and the others wait for it
+ * and return its ExecutionResult.
+ * <p>
+ * Executions are identical if they have the same query, operation name, variables and extensions, and the same
+ * values of the keyHeaders, e.g. a locale or the client. Only query operations are coalesced, never mutations or
+ * subscriptions. An execution is personalized, and is never coalesced, if its request has an authenticated principal
+ * or any of the privateHeaders, e.g. Authorization or Cookie; results that vary with other request state must list it
+ * in the keyHeaders. If a MeterRegistry is given, the coalesced executions are counted in {@value #COALESCED_METRIC}.
+ */
+public class SingleFlight {
+
+    public static final String COALESCED_METRIC = "dgs.graphql.singleflight.coalesced";
+
+    record Key(String query, String operationName, Map<String, Object> variables, Map<String, Object> extensions, List<List<String>> headers) {}
+
+    private final List<String> keyHeaders;
+    private final List<String> privateHeaders;
+    private final Counter coalesced;
+    private final Map<Key, CompletableFuture<ExecutionResult>> inFlight = new ConcurrentHashMap<>();
+    private final ParsedDocuments parsedDocuments;
+
+    public SingleFlight(List<String> keyHeaders, List<String> privateHeaders, MeterRegistry meterRegistry) {
+        this(keyHeaders, privateHeaders, new ParsedDocuments(ParsedDocuments.DEFAULT_MAX_ENTRIES), meterRegistry);
+    }
+
+    /**
+     * @param keyHeaders      the request headers that the results vary with
+     * @param privateHeaders  the request headers that make an execution personalized
+     * @param parsedDocuments the parsed documents, for the type of the operations
+     * @param meterRegistry   the registry for the coalescing metric, or null
+     */
+    public SingleFlight(List<String> keyHeaders, List<String> privateHeaders, ParsedDocuments parsedDocuments, MeterRegistry meterRegistry) {
+        this.keyHeaders = List.copyOf(keyHeaders);
+        this.privateHeaders = List.copyOf(privateHeaders);
+        this.parsedDocuments = parsedDocuments;
+        this.coalesced = meterRegistry != null ? Counter.builder(COALESCED_METRIC).register(meterRegistry) : null;
+    }
+
+    /**
+     * Runs the execution, or waits for an identical one that is in flight and returns its result. The webRequest must
+     * be the request that the execution runs for, also when it is taken from the current thread.
+     */
+    public ExecutionResult execute(
+        String query,
+        String operationName,
+        Map<String, Object> variables,
+        Map<String, Object> extensions,
+        HttpHeaders headers,
+        WebRequest webRequest,
+        Supplier<ExecutionResult> execution
+    ) {
+        if (isPersonalized(headers, webRequest) || !isQuery(query, operationName)) {
+            return execution.get();
+        }
+        var key = new Key(
+            query,
+            operationName,
+            // copies, since the execution may change the maps while identical executions look the key up
+            variables != null ? Collections.unmodifiableMap(new LinkedHashMap<>(variables)) : Collections.emptyMap(),
+            extensions != null ? Collections.unmodifiableMap(new LinkedHashMap<>(extensions)) : Collections.emptyMap(),
+            keyHeaders.stream().map(name -> headers != null ? headers.getOrEmpty(name) : List.<String>of()).toList()
+        );
+        var created = new CompletableFuture<ExecutionResult>();
+        var existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            if (coalesced != null) coalesced.increment();
+            return Kt.call(() -> {
+                try {
+                    return existing.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception cause ? cause : e;
+                }
+            });
+        }
+        try {
+            var result = execution.get();
+            created.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // also the checked exceptions that the execution rethrows unchecked, so the waiting executions fail too
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            // later executions run again, so results are never reused after they completed
+            inFlight.remove(key, created);
+        }
+    }
+
+    boolean isPersonalized(HttpHeaders headers, WebRequest webRequest) {
+        if (webRequest != null
+            && (webRequest.getUserPrincipal() != null || privateHeaders.stream().anyMatch(name -> webRequest.getHeader(name) != null))) {
+            return true;
+        }
+        return headers != null && privateHeaders.stream().anyMatch(headers::containsKey);
+    }
+
+    boolean isQuery(String query, String operationName) {
+        // a query that does not parse is not coalesced, the execution reports the error
+        return parsedDocuments.operationType(query, operationName) == OperationDefinition.Operation.QUERY;
+    }
+
+}
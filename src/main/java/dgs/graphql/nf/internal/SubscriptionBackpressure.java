@@ -0,0 +1,34 @@
+package dgs.graphql.nf.internal;
+
+import org.reactivestreams.Publisher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * How the [DefaultDgsQueryExecutor] handles a subscriber that requests results slower than the subscription produces them.
+ *
+ * @param strategy   BUFFER keeps up to bufferSize results and fails the subscription when the buffer overflows,
+ *                   DROP discards results until the subscriber requests more, LATEST keeps only the most recent result.
+ * @param bufferSize the buffer size of the BUFFER strategy, unbounded if not positive.
+ */
+public record SubscriptionBackpressure(Strategy strategy, int bufferSize) {
+
+    public enum Strategy { BUFFER, DROP, LATEST }
+
+    public static final SubscriptionBackpressure DEFAULT = new SubscriptionBackpressure(Strategy.BUFFER, 0);
+
+    public <T> Publisher<T> apply(Publisher<T> results) {
+        var flux = Flux.from(results);
+        return switch (strategy) {
+            case BUFFER -> bufferSize > 0 ? flux.onBackpressureBuffer(bufferSize) : flux.onBackpressureBuffer();
+            case DROP -> flux.onBackpressureDrop(it -> logger.debug("Dropped subscription result, the subscriber is not keeping up"));
+            case LATEST -> flux.onBackpressureLatest();
+        };
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionBackpressure.class);
+
+}
@@ -0,0 +1,34 @@
+package dgs.graphql.nf.internal;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.LightDataFetcher;
+
+import java.util.function.Supplier;
+
+/**
+ * Exposes the invoker of a trivial @DgsData method as a [LightDataFetcher], so graphql-java treats it like a property fetch.
+ * The DataFetchingEnvironment is only materialized when the method takes arguments.
+ */
+public class TrivialDataFetcherInvoker implements LightDataFetcher<Object> {
+
+    private final DataFetcher<Object> delegate;
+    private final boolean needsEnvironment;
+
+    public TrivialDataFetcherInvoker(DataFetcher<Object> delegate, boolean needsEnvironment) {
+        this.delegate = delegate;
+        this.needsEnvironment = needsEnvironment;
+    }
+
+    @Override
+    public Object get(GraphQLFieldDefinition fieldDefinition, Object sourceObject, Supplier<DataFetchingEnvironment> environmentSupplier) throws Exception {
+        return delegate.get(needsEnvironment ? environmentSupplier.get() : null);
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        return delegate.get(environment);
+    }
+
+}
@@ -28,6 +28,7 @@ public abstract class AbstractInputArgumentResolver implements ArgumentResolver
         this.conversionService = new DefaultConversionService();
         this.argumentNameCache = new ConcurrentHashMap();
         this.conversionService.addConverter((GenericConverter)new InputObjectMapperConverter(inputObjectMapper));
+        this.conversionService.addConverter(new MultipartFileConverter());
     }
 
     @Override
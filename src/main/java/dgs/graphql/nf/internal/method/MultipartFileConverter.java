@@ -0,0 +1,45 @@
+package dgs.graphql.nf.internal.method;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+import dgs.graphql.nf.exceptions.DgsInvalidInputArgumentException;
+
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Binds Upload arguments to InputStream and Resource parameters, read from the MultipartFile of the servlet container.
+ * The container keeps large parts on disk, so the file is streamed from there instead of being copied to the heap
+ * with getBytes().
+ */
+public class MultipartFileConverter implements GenericConverter {
+
+    @Override
+    public Set<GenericConverter.ConvertiblePair> getConvertibleTypes() {
+        return Set.of(
+            new GenericConverter.ConvertiblePair(MultipartFile.class, InputStream.class),
+            new GenericConverter.ConvertiblePair(MultipartFile.class, Resource.class)
+        );
+    }
+
+    @Override
+    public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+        if (source == null) {
+            return null;
+        }
+        var file = (MultipartFile) source;
+        if (Resource.class.isAssignableFrom(targetType.getType())) {
+            return file.getResource();
+        }
+        try {
+            return file.getInputStream();
+        } catch (IOException e) {
+            throw new DgsInvalidInputArgumentException("Unable to read the upload " + file.getOriginalFilename(), e);
+        }
+    }
+
+}
@@ -1,8 +1,12 @@
 package dgs.graphql.nf.internal.utils;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.function.Function;
+
+import dgs.graphql.nf.exceptions.DgsMultipartMappingException;
+
 import org.springframework.web.multipart.MultipartFile;
 
 /**
@@ -16,81 +20,216 @@ import org.springframework.web.multipart.MultipartFile;
  * The resulting map of populated query variables is the output.
  * Original => "variables": { "input": { "description": "test", "files": [null, null] } }
  * Transformed => "variables": { "input": { "description": "test", "files": [file1.txt, file2.txt] } }
+ *
+ * The object paths of the map are compiled into a trie once per request with {@link #compile(Map)}, so that the
+ * variables are walked once for all files, and each shared prefix, e.g. variables.input.files, is resolved only once.
+ * A map that does not match the variables or the parts is rejected with a [DgsMultipartMappingException].
+ *
+ * The files of a request are mapped as the MultipartFiles of the servlet container, which keeps large parts on disk;
+ * if the files add up to more than maxRequestSize bytes, the request is rejected with a [DgsMultipartMappingException].
  */
 public final class MultipartVariableMapper {
-    private MultipartVariableMapper() {}
 
-    public static final MultipartVariableMapper INSTANCE = new MultipartVariableMapper();
+    public static final long UNLIMITED = -1;
+
+    public static final MultipartVariableMapper INSTANCE = new MultipartVariableMapper(UNLIMITED);
+
+    private final long maxRequestSize;
+
+    /**
+     * @param maxRequestSize the number of bytes that the files of a request may have in total, or UNLIMITED
+     */
+    public MultipartVariableMapper(long maxRequestSize) {
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    static final String VARIABLES = "variables";
 
-    static final Pattern PERIOD = Pattern.compile("\\.");
+    /**
+     * A node of the trie of object paths: a segment of a path, and either the segments that follow it, or the name of
+     * the part that is mapped to it.
+     */
+    static final class PathNode {
+        final String segment;
+        // the segment as a list index, or -1 if it is not one
+        final int index;
+        final String path;
+        Map<String, PathNode> children;
+        String partName;
 
-    static final Mapper<Map<String, Object>> MAP_MAPPER = new Mapper<>(){
-        @Override
-        public Object set(Map<String, Object> location, String target, MultipartFile value) {
-            return location.put(target, value);
+        PathNode(String segment, String path) {
+            this.segment = segment;
+            this.index = parseIndex(segment);
+            this.path = path;
         }
-        @Override
-        public Object recurse( Map<String, Object> location,  String target) {
-            var object = location.get(target);
-            if (object == null) throw new IllegalStateException("");
-            return object;
+
+        PathNode child(String segment, String path) {
+            if (children == null) {
+                children = new LinkedHashMap<>();
+            }
+            return children.computeIfAbsent(segment, it -> new PathNode(it, path));
+        }
+    }
+
+    /**
+     * The compiled object paths of the map of a multipart request.
+     */
+    public static final class Mapping {
+        private final PathNode root;
+
+        Mapping(PathNode root) {
+            this.root = root;
         }
-    };
 
-    static final Mapper<List<Object>> LIST_MAPPER = new Mapper<>(){
-        @Override
-        public Object set(List<Object> location, String target, MultipartFile value) {
-            return location.set(Integer.parseInt(target), value);
+        /**
+         * Sets the parts, looked up by their name, at their object paths in the variables.
+         */
+        public void apply(Map<String, Object> variables, Function<String, ? extends MultipartFile> parts) {
+            if (variables == null && root.children != null) {
+                throw new DgsMultipartMappingException("can only map into variables, but the request has none");
+            }
+            if (root.children != null) {
+                visit(root, variables, parts);
+            }
         }
-        @Override
-        public Object recurse( List<Object> location,  String target) {
-            return location.get(Integer.parseInt(target));
+
+        void visit(PathNode node, Object location, Function<String, ? extends MultipartFile> parts) {
+            for (var child : node.children.values()) {
+                if (child.partName != null) {
+                    var part = parts.apply(child.partName);
+                    if (part == null) {
+                        throw new DgsMultipartMappingException("no part " + child.partName + " for " + child.path);
+                    }
+                    set(node, location, child, part);
+                } else {
+                    var next = get(node, location, child);
+                    if (next == null) {
+                        throw new DgsMultipartMappingException("found null intermediate value when trying to map " + child.path);
+                    }
+                    visit(child, next, parts);
+                }
+            }
         }
-    };
 
-    interface Mapper<T> {
-        public Object set(T location, String target, MultipartFile value);
-        public Object recurse(T location, String target);
-    }
+        static Object get(PathNode node, Object location, PathNode child) {
+            return switch (location) {
+                case Map<?, ?> map -> map.get(child.segment);
+                case List<?> list -> list.get(checkIndex(list, child));
+                default -> throw new DgsMultipartMappingException("expected an object or a list at " + node.path + " when trying to map " + child.path);
+            };
+        }
 
-    public void mapVariable(String objectPath, Map<String,Object> variables, MultipartFile part) {
-        var segments = PERIOD.split(objectPath);
-        if (segments.length < 2) {
-            throw new RuntimeException("object-path in map must have at least two segments");
-        }
-        if (!"variables".equals(segments[0])) {
-            throw new RuntimeException("can only map into variables");
-        }
-        var currentLocation = (Object)variables;
-        for (var i = 1; i < segments.length; ++i) {
-            var segmentName = segments[i];
-            if (i == segments.length - 1) {
-                if (currentLocation instanceof Map map) {
-                    // Map map = TypeIntrinsics.asMutableMap(currentLocation);
-                    if (null != MAP_MAPPER.set(map, segmentName, part)) {
-                        throw new RuntimeException("expected null value when mapping " + objectPath);
+        @SuppressWarnings("unchecked")
+        static void set(PathNode node, Object location, PathNode child, MultipartFile part) {
+            switch (location) {
+                case Map<?, ?> map -> {
+                    if (map.get(child.segment) != null) {
+                        throw new DgsMultipartMappingException("expected null value when mapping " + child.path);
                     }
-                } else if (currentLocation instanceof List list) {
-                    // List list = TypeIntrinsics.asMutableList(currentLocation);
-                    if (null != LIST_MAPPER.set(list, segmentName, part)) {
-                        throw new RuntimeException("expected null value when mapping " + objectPath);
+                    ((Map<String, Object>) map).put(child.segment, part);
+                }
+                case List<?> list -> {
+                    var index = checkIndex(list, child);
+                    if (list.get(index) != null) {
+                        throw new DgsMultipartMappingException("expected null value when mapping " + child.path);
                     }
-                } else assert false : "not map or list";
-            } else {
-                if (currentLocation instanceof Map map) {
-                    // Map map = TypeIntrinsics.asMutableMap(currentLocation);
-                    currentLocation = MAP_MAPPER.recurse(map, segmentName);
-                } else if (currentLocation instanceof List list) {
-                    // List list = TypeIntrinsics.asMutableList(currentLocation);
-                    currentLocation = LIST_MAPPER.recurse(list, segmentName);
-                } else assert false : "not map or list";
-
-                if (null == currentLocation) {
-                    throw new RuntimeException("found null intermediate value when trying to map " + objectPath);
+                    ((List<Object>) list).set(index, part);
                 }
+                default -> throw new DgsMultipartMappingException("expected an object or a list at " + node.path + " when trying to map " + child.path);
+            }
+        }
+
+        static int checkIndex(List<?> list, PathNode child) {
+            if (child.index < 0 || child.index >= list.size()) {
+                throw new DgsMultipartMappingException("expected an index of a list of " + list.size() + " elements when trying to map " + child.path);
             }
+            return child.index;
         }
     }
 
-}
+    /**
+     * Compiles the map of a multipart request, from the names of the parts to their object paths.
+     */
+    public Mapping compile(Map<String, ? extends List<String>> fileMap) {
+        var root = new PathNode(VARIABLES, VARIABLES);
+        fileMap.forEach((partName, objectPaths) -> {
+            if (objectPaths == null) {
+                throw new DgsMultipartMappingException("expected a list of object paths for part " + partName);
+            }
+            for (var objectPath : objectPaths) {
+                insert(root, partName, objectPath);
+            }
+        });
+        return new Mapping(root);
+    }
+
+    void insert(PathNode root, String partName, String objectPath) {
+        if (objectPath == null || objectPath.indexOf('.') < 0) {
+            throw new DgsMultipartMappingException("object-path in map must have at least two segments, was " + objectPath);
+        }
+        if (!objectPath.startsWith(VARIABLES + '.')) {
+            throw new DgsMultipartMappingException("can only map into variables, was " + objectPath);
+        }
+        var node = root;
+        var start = VARIABLES.length() + 1;
+        while (true) {
+            var end = objectPath.indexOf('.', start);
+            var segment = end < 0 ? objectPath.substring(start) : objectPath.substring(start, end);
+            if (segment.isEmpty() || node.partName != null) {
+                throw new DgsMultipartMappingException("invalid or conflicting object-path " + objectPath);
+            }
+            node = node.child(segment, end < 0 ? objectPath : objectPath.substring(0, end));
+            if (end < 0) {
+                break;
+            }
+            start = end + 1;
+        }
+        if (node.partName != null || node.children != null) {
+            throw new DgsMultipartMappingException("object-path " + objectPath + " is mapped more than once");
+        }
+        node.partName = partName;
+    }
+
+    /**
+     * Maps the parts of a multipart request into the variables, in a single walk of the variables.
+     */
+    public void mapVariables(Map<String, ? extends List<String>> fileMap, Map<String, Object> variables, Map<String, ? extends MultipartFile> parts) {
+        checkRequestSize(parts.values());
+        compile(fileMap).apply(variables, parts::get);
+    }
 
+    void checkRequestSize(Iterable<? extends MultipartFile> files) {
+        if (maxRequestSize == UNLIMITED) {
+            return;
+        }
+        var size = 0L;
+        for (var file : files) {
+            size += file.getSize();
+            if (size > maxRequestSize) {
+                throw new DgsMultipartMappingException(
+                    "The files of the request are over the limit of " + maxRequestSize + " bytes"
+                );
+            }
+        }
+    }
+
+    public void mapVariable(String objectPath, Map<String, Object> variables, MultipartFile part) {
+        compile(Map.of("", List.of(objectPath))).apply(variables, it -> part);
+    }
+
+    static int parseIndex(String segment) {
+        if (segment.isEmpty() || segment.length() > 9) {
+            return -1;
+        }
+        var index = 0;
+        for (var i = 0; i < segment.length(); i++) {
+            var digit = segment.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            index = index * 10 + digit;
+        }
+        return index;
+    }
+
+}
@@ -1,5 +1,6 @@
 package dgs.graphql.nf.internal.utils;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
 
@@ -8,11 +9,17 @@ public final class TimeTracer {
 
     public static final TimeTracer INSTANCE = new TimeTracer();
 
+    /**
+     * Logs the time taken by the action, in milliseconds, at debug level.
+     * The action is simply run if debug logging is disabled.
+     */
     public final <R> R logTime(Supplier<? extends R> action,  Logger logger,  String message) {
-        var startTime = System.currentTimeMillis();
+        if (!logger.isDebugEnabled()) {
+            return action.get();
+        }
+        var startTime = System.nanoTime();
         var result = action.get();
-        var endTime = System.currentTimeMillis();
-        var totalTime = endTime - startTime;
+        var totalTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
         logger.debug(message, totalTime);
         return result;
     }
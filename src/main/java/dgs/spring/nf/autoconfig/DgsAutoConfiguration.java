@@ -16,29 +16,50 @@ import graphql.schema.visibility.DefaultGraphqlFieldVisibility;
 import graphql.schema.visibility.GraphqlFieldVisibility;
 import graphql.schema.visibility.NoIntrospectionGraphqlFieldVisibility;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import dgs.graphql.nf.DgsFederationResolver;
 import dgs.graphql.nf.DgsQueryExecutor;
+import dgs.graphql.nf.context.AsyncGraphQLContextContributor;
 import dgs.graphql.nf.context.DgsCustomContextBuilder;
 import dgs.graphql.nf.context.DgsCustomContextBuilderWithRequest;
 import dgs.graphql.nf.context.GraphQLContextContributor;
 import dgs.graphql.nf.context.GraphQLContextContributorInstrumentation;
 import dgs.graphql.nf.exceptions.DefaultDataFetcherExceptionHandler;
+import dgs.graphql.nf.exceptions.DgsExceptionStackTraces;
+import dgs.graphql.nf.exceptions.InvalidDgsConfigurationException;
+import dgs.graphql.nf.internal.BlockingDataFetcherExecutor;
+import dgs.graphql.nf.internal.ConcurrencyLimiter;
 import dgs.graphql.nf.internal.DataFetcherResultProcessor;
 import dgs.graphql.nf.internal.DefaultDgsGraphQLContextBuilder;
 import dgs.graphql.nf.internal.DefaultDgsQueryExecutor;
 import dgs.graphql.nf.internal.DgsDataLoaderProvider;
 import dgs.graphql.nf.internal.DgsQueryExecutorRequestCustomizer;
 import dgs.graphql.nf.internal.DgsSchemaProvider;
+import dgs.graphql.nf.internal.DgsTracingInstrumentation;
+import dgs.graphql.nf.internal.DgsWiringManifest;
 import dgs.graphql.nf.internal.EntityFetcherRegistry;
+import dgs.graphql.nf.internal.OperationAllowList;
+import dgs.graphql.nf.internal.ParsedDocuments;
+import dgs.graphql.nf.internal.QueryCostInstrumentation;
 import dgs.graphql.nf.internal.QueryValueCustomizer;
 import dgs.graphql.nf.internal.ReactiveDataFetcherResultProcessor;
+import dgs.graphql.nf.internal.ResponseCache;
+import dgs.graphql.nf.internal.SharedSubscriptionPublishers;
+import dgs.graphql.nf.internal.SingleFlight;
+import dgs.graphql.nf.internal.SubscriptionBackpressure;
 import dgs.graphql.nf.internal.method.ArgumentResolver;
 import dgs.graphql.nf.internal.method.MethodDataFetcherFactory;
+import dgs.graphql.nf.internal.utils.MultipartVariableMapper;
 import dgs.graphql.nf.scalars.UploadScalar;
+import dgs.graphql.nf.support.Kt;
 
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -54,6 +75,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.core.PriorityOrdered;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
 
 @AutoConfiguration
 @EnableConfigurationProperties(value={DgsConfigurationProperties.class})
@@ -68,14 +91,38 @@ public class DgsAutoConfiguration {
         this.configProps = configProps;
     }
 
+    /**
+     * DgsExceptions are created without a stack trace if `dgs.graphql.exceptions.stackless` is set, except for the classes
+     * listed in `dgs.graphql.exceptions.stack-trace-classes`; those listed in `dgs.graphql.exceptions.stackless-classes`
+     * are always stackless. A class that is not a DgsException fails the application. The setting is global, see
+     * [DgsExceptionStackTraces]; it is undone when the application context is closed.
+     */
+    @Bean(initMethod = "apply", destroyMethod = "reset")
+    @ConditionalOnMissingBean
+    public DgsExceptionStackTraces dgsExceptionStackTraces(Environment environment) {
+        return DgsExceptionStackTraces.of(
+            environment.getProperty("dgs.graphql.exceptions.stackless", Boolean.class, false),
+            Arrays.asList(environment.getProperty("dgs.graphql.exceptions.stackless-classes", String[].class, new String[0])),
+            Arrays.asList(environment.getProperty("dgs.graphql.exceptions.stack-trace-classes", String[].class, new String[0]))
+        );
+    }
+
     @Bean
     @Order(PriorityOrdered.HIGHEST_PRECEDENCE)
     public Instrumentation graphQLContextContributionInstrumentation(
-        ObjectProvider<GraphQLContextContributor> graphQLContextContributors
+        ObjectProvider<GraphQLContextContributor> graphQLContextContributors,
+        ObjectProvider<AsyncGraphQLContextContributor> asyncGraphQLContextContributors
     ) {
-        return new GraphQLContextContributorInstrumentation(graphQLContextContributors.orderedStream().toList());
+        return new GraphQLContextContributorInstrumentation(
+            graphQLContextContributors.orderedStream().toList(),
+            asyncGraphQLContextContributors.orderedStream().toList()
+        );
     }
 
+    /**
+     * The deferred operations of @defer queries run on the Executor bean named `dgsDeferredExecutor`, if there is one,
+     * and otherwise on virtual threads. A batch may have at most `dgs.graphql.batch.max-operations` operations.
+     */
     @Bean
     public DgsQueryExecutor dgsQueryExecutor(
         ApplicationContext applicationContext,
@@ -88,11 +135,17 @@ public class DgsAutoConfiguration {
         Environment environment,
         @Qualifier(value="query") Optional<ExecutionStrategy> providedQueryExecutionStrategy,
         @Qualifier(value="mutation") Optional<ExecutionStrategy> providedMutationExecutionStrategy,
+        @Qualifier(value="dgsDeferredExecutor") Optional<Executor> deferredExecutor,
         Optional<ExecutionIdProvider> idProvider,
         DefaultDgsQueryExecutor.ReloadSchemaIndicator reloadSchemaIndicator,
         ObjectProvider<PreparsedDocumentProvider> preparsedDocumentProvider,
         QueryValueCustomizer queryValueCustomizer,
-        ObjectProvider<DgsQueryExecutorRequestCustomizer> requestCustomizer
+        ObjectProvider<DgsQueryExecutorRequestCustomizer> requestCustomizer,
+        ObjectProvider<ConcurrencyLimiter> concurrencyLimiter,
+        ObjectProvider<ResponseCache> responseCache,
+        ObjectProvider<SingleFlight> singleFlight,
+        ObjectProvider<OperationAllowList> operationAllowList,
+        ParsedDocuments parsedDocuments
     ) {
         var queryExecutionStrategy =
             providedQueryExecutionStrategy.orElse(new AsyncExecutionStrategy(dataFetcherExceptionHandler));
@@ -117,20 +170,226 @@ public class DgsAutoConfiguration {
             reloadSchemaIndicator,
             preparsedDocumentProvider.getIfAvailable(),
             queryValueCustomizer,
-            requestCustomizer.getIfAvailable(DgsQueryExecutorRequestCustomizer::DEFAULT_REQUEST_CUSTOMIZER)
+            requestCustomizer.getIfAvailable(DgsQueryExecutorRequestCustomizer::DEFAULT_REQUEST_CUSTOMIZER),
+            DefaultDgsQueryExecutor.options()
+                .subscriptionBackpressure(new SubscriptionBackpressure(
+                    environment.getProperty("dgs.graphql.subscriptions.backpressure", SubscriptionBackpressure.Strategy.class, SubscriptionBackpressure.Strategy.BUFFER),
+                    environment.getProperty("dgs.graphql.subscriptions.buffer-size", Integer.class, 0)
+                ))
+                .concurrencyLimiter(concurrencyLimiter.getIfAvailable())
+                .responseCache(responseCache.getIfAvailable())
+                .singleFlight(singleFlight.getIfAvailable())
+                .allowList(operationAllowList.getIfAvailable())
+                .deferredExecutor(deferredExecutor.orElse(null))
+                .parsedDocuments(parsedDocuments)
+                .maxBatchOperations(environment.getProperty("dgs.graphql.batch.max-operations", Integer.class, DefaultDgsQueryExecutor.DEFAULT_MAX_BATCH_OPERATIONS))
+        );
+    }
+
+    /**
+     * Limits the concurrent executions per operation, if enabled with `dgs.graphql.concurrency-limit.enabled`; executions
+     * over the limit are rejected with TOO_MANY_REQUESTS. The limit adapts between `dgs.graphql.concurrency-limit.min-limit`
+     * and `dgs.graphql.concurrency-limit.max-limit`, starting at `dgs.graphql.concurrency-limit.initial-limit`. If
+     * `dgs.graphql.concurrency-limit.client-header` is set, the limit is also per value of that header; at most
+     * `dgs.graphql.concurrency-limit.max-keys` operations and clients are limited separately, and at most
+     * `dgs.graphql.concurrency-limit.max-keys-per-client` operations of each client.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+        prefix = "dgs.graphql.concurrency-limit",
+        name = {"enabled"},
+        havingValue = "true",
+        matchIfMissing = false
+    )
+    public ConcurrencyLimiter concurrencyLimiter(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ConcurrencyLimiter(
+            environment.getProperty("dgs.graphql.concurrency-limit.initial-limit", Integer.class, 20),
+            environment.getProperty("dgs.graphql.concurrency-limit.min-limit", Integer.class, 1),
+            environment.getProperty("dgs.graphql.concurrency-limit.max-limit", Integer.class, 1000),
+            environment.getProperty("dgs.graphql.concurrency-limit.client-header"),
+            environment.getProperty("dgs.graphql.concurrency-limit.max-keys", Integer.class, 100),
+            environment.getProperty("dgs.graphql.concurrency-limit.max-keys-per-client", Integer.class, 10),
+            meterRegistry.getIfAvailable()
         );
     }
 
+    /**
+     * Traces the phases of each request as Micrometer Observations, if enabled with `dgs.graphql.tracing.enabled`.
+     * `dgs.graphql.tracing.field-observations` also observes every non-trivial field fetch, and
+     * `dgs.graphql.tracing.response-extension` adds the timings to the response extensions.
+     */
+    @Bean
+    @ConditionalOnProperty(
+        prefix = "dgs.graphql.tracing",
+        name = {"enabled"},
+        havingValue = "true",
+        matchIfMissing = false
+    )
+    public DgsTracingInstrumentation dgsTracingInstrumentation(Environment environment, ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new DgsTracingInstrumentation(
+            observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP),
+            environment.getProperty("dgs.graphql.tracing.field-observations", Boolean.class, false),
+            environment.getProperty("dgs.graphql.tracing.response-extension", Boolean.class, false)
+        );
+    }
+
+    /**
+     * Rejects operations whose cost or depth is too high before they execute, if enabled with
+     * `dgs.graphql.query-cost.enabled`. The limits are `dgs.graphql.query-cost.max-cost` and
+     * `dgs.graphql.query-cost.max-depth`; the size of a list is taken from the arguments in
+     * `dgs.graphql.query-cost.list-size-arguments`, or is `dgs.graphql.query-cost.default-list-size`.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+        prefix = "dgs.graphql.query-cost",
+        name = {"enabled"},
+        havingValue = "true",
+        matchIfMissing = false
+    )
+    public QueryCostInstrumentation queryCostInstrumentation(
+        Environment environment,
+        DgsSchemaProvider schemaProvider,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new QueryCostInstrumentation(
+            environment.getProperty("dgs.graphql.query-cost.max-cost", Long.class, 1000L),
+            environment.getProperty("dgs.graphql.query-cost.max-depth", Integer.class, 15),
+            environment.getProperty("dgs.graphql.query-cost.default-list-size", Integer.class, 10),
+            Arrays.asList(environment.getProperty("dgs.graphql.query-cost.list-size-arguments", String[].class, new String[] {"first", "limit"})),
+            schemaProvider,
+            meterRegistry.getIfAvailable()
+        );
+    }
+
+    /**
+     * The parsed documents of queries that the layers in front of the execution share, e.g. the [ResponseCache] and the
+     * [SingleFlight]; at most `dgs.graphql.parsed-documents.max-entries` documents are kept.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ParsedDocuments parsedDocuments(Environment environment) {
+        return new ParsedDocuments(
+            environment.getProperty("dgs.graphql.parsed-documents.max-entries", Integer.class, ParsedDocuments.DEFAULT_MAX_ENTRIES)
+        );
+    }
+
+    /**
+     * Caches the results of queries for the maxAge of their `@cacheControl` directives, if enabled with
+     * `dgs.graphql.response-cache.enabled`. At most `dgs.graphql.response-cache.max-entries` results are kept; the results
+     * vary with the request headers in `dgs.graphql.response-cache.key-headers`, and the fields without a cache hint have
+     * a maxAge of `dgs.graphql.response-cache.default-max-age`, which is 0, i.e. not cacheable, unless configured.
+     * Requests with an authenticated principal or any of the headers in `dgs.graphql.response-cache.private-headers`
+     * bypass the cache, since it is looked up before the request is authorized.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+        prefix = "dgs.graphql.response-cache",
+        name = {"enabled"},
+        havingValue = "true",
+        matchIfMissing = false
+    )
+    public ResponseCache responseCache(Environment environment, ParsedDocuments parsedDocuments, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ResponseCache(
+            environment.getProperty("dgs.graphql.response-cache.max-entries", Integer.class, 10_000),
+            environment.getProperty("dgs.graphql.response-cache.default-max-age", Duration.class, Duration.ZERO).toSeconds(),
+            Arrays.asList(environment.getProperty("dgs.graphql.response-cache.key-headers", String[].class, new String[0])),
+            Arrays.asList(environment.getProperty("dgs.graphql.response-cache.private-headers", String[].class, new String[] {HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE})),
+            parsedDocuments,
+            meterRegistry.getIfAvailable()
+        );
+    }
+
+    /**
+     * Coalesces identical queries that are in flight at the same time, if enabled with `dgs.graphql.single-flight.enabled`.
+     * The results vary with the request headers in `dgs.graphql.single-flight.key-headers`; requests with an authenticated
+     * principal or any of the headers in `dgs.graphql.single-flight.private-headers` are never coalesced.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+        prefix = "dgs.graphql.single-flight",
+        name = {"enabled"},
+        havingValue = "true",
+        matchIfMissing = false
+    )
+    public SingleFlight singleFlight(Environment environment, ParsedDocuments parsedDocuments, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new SingleFlight(
+            Arrays.asList(environment.getProperty("dgs.graphql.single-flight.key-headers", String[].class, new String[0])),
+            Arrays.asList(environment.getProperty("dgs.graphql.single-flight.private-headers", String[].class, new String[] {HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE})),
+            parsedDocuments,
+            meterRegistry.getIfAvailable()
+        );
+    }
+
+    /**
+     * Executes only the operations of the manifest at `dgs.graphql.allow-list.manifest`, if enabled with
+     * `dgs.graphql.allow-list.enabled`. The manifest is a JSON object with the documents of the operations by their id;
+     * it is compiled against the schema at startup, so that an invalid operation, or one over the limits of the
+     * [QueryCostInstrumentation], fails the application.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+        prefix = "dgs.graphql.allow-list",
+        name = {"enabled"},
+        havingValue = "true",
+        matchIfMissing = false
+    )
+    public OperationAllowList operationAllowList(
+        Environment environment,
+        ApplicationContext applicationContext,
+        GraphQLSchema schema,
+        ObjectProvider<QueryCostInstrumentation> queryCostInstrumentation
+    ) {
+        var location = environment.getProperty("dgs.graphql.allow-list.manifest", "classpath:graphql/operations.json");
+        var resource = applicationContext.getResource(location);
+        if (!resource.exists()) {
+            throw new InvalidDgsConfigurationException("dgs.graphql.allow-list.enabled is set, but the manifest " + location + " was not found.");
+        }
+        var manifest = Kt.call(() -> {
+            try (var json = resource.getInputStream()) {
+                return OperationAllowList.readManifest(json);
+            }
+        });
+        var allowList = new OperationAllowList(manifest, queryCostInstrumentation.getIfAvailable());
+        allowList.compile(schema);
+        return allowList;
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public QueryValueCustomizer defaultQueryValueCustomizer() {
         return (query) -> query;
     }
 
+    @Bean(initMethod = "findDataLoaders")
+    @ConditionalOnMissingBean
+    public DgsDataLoaderProvider dgsDataLoaderProvider(ApplicationContext applicationContext, Optional<DgsWiringManifest> wiringManifest) {
+        return new DgsDataLoaderProvider(applicationContext, wiringManifest.orElse(null));
+    }
+
+    /**
+     * Loads the wiring manifest generated by the dgs-processor annotation processor, if enabled with `dgs.graphql.aot.enabled`.
+     * The [DgsSchemaProvider] and [DgsDataLoaderProvider] then use the build-time bindings instead of reflective scanning;
+     * components that are not in the manifest, e.g. from jars built without the processor, are still scanned.
+     */
     @Bean
     @ConditionalOnMissingBean
-    public DgsDataLoaderProvider dgsDataLoaderProvider(ApplicationContext applicationContext) {
-        return new DgsDataLoaderProvider(applicationContext);
+    @ConditionalOnProperty(
+        prefix = "dgs.graphql.aot",
+        name = {"enabled"},
+        havingValue = "true",
+        matchIfMissing = false
+    )
+    public DgsWiringManifest dgsWiringManifest(ApplicationContext applicationContext) {
+        var manifest = DgsWiringManifest.load(applicationContext.getClassLoader());
+        if (manifest.isEmpty()) {
+            throw new IllegalStateException("dgs.graphql.aot.enabled is set, but no " + DgsWiringManifest.LOCATION + " was found. Add dgs-processor to the annotation processor path.");
+        }
+        return manifest;
     }
 
     /**
@@ -163,7 +422,10 @@ public class DgsAutoConfiguration {
         Optional<DataFetcherExceptionHandler> dataFetcherExceptionHandler,
         EntityFetcherRegistry entityFetcherRegistry,
         Optional<DataFetcherFactory<?>> defaultDataFetcherFactory,
-        MethodDataFetcherFactory methodDataFetcherFactory
+        MethodDataFetcherFactory methodDataFetcherFactory,
+        Optional<DgsWiringManifest> wiringManifest,
+        Optional<BlockingDataFetcherExecutor> blockingDataFetcherExecutor,
+        Optional<SharedSubscriptionPublishers> sharedSubscriptionPublishers
         // ObjectProvider<MockProvider> mockProviders,
     ) {
         return new DgsSchemaProvider(
@@ -176,20 +438,69 @@ public class DgsAutoConfiguration {
             entityFetcherRegistry,
             defaultDataFetcherFactory, // = Optional.empty(),
             methodDataFetcherFactory,
-            null
+            null,
+            wiringManifest,
+            blockingDataFetcherExecutor,
+            sharedSubscriptionPublishers
             // Set.of(mockProviders),
         );
     }
 
+    /**
+     * Runs @DgsBlocking data fetchers on virtual threads, if enabled with `dgs.graphql.virtualthreads.enabled`.
+     * `dgs.graphql.virtualthreads.max-concurrency-per-request` bounds the number of blocking data fetchers
+     * running at once for a single request, and `dgs.graphql.virtualthreads.offload-all` treats every
+     * synchronous data fetcher as blocking.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+        prefix = "dgs.graphql.virtualthreads",
+        name = {"enabled"},
+        havingValue = "true",
+        matchIfMissing = false
+    )
+    public BlockingDataFetcherExecutor blockingDataFetcherExecutor(Environment environment) {
+        return BlockingDataFetcherExecutor.virtualThreads(
+            environment.getProperty("dgs.graphql.virtualthreads.max-concurrency-per-request", Integer.class, 16),
+            environment.getProperty("dgs.graphql.virtualthreads.offload-all", Boolean.class, false)
+        );
+    }
+
+    /**
+     * Lets identical subscriptions, to the same field with the same arguments, share a single upstream Publisher,
+     * if enabled with `dgs.graphql.subscriptions.share-upstream`.
+     * Only enable this if the events of your subscriptions do not depend on the subscriber.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+        prefix = "dgs.graphql.subscriptions",
+        name = {"share-upstream"},
+        havingValue = "true",
+        matchIfMissing = false
+    )
+    public SharedSubscriptionPublishers sharedSubscriptionPublishers() {
+        return new SharedSubscriptionPublishers();
+    }
+
     @Bean
     public EntityFetcherRegistry entityFetcherRegistry() {
         return new EntityFetcherRegistry();
     }
 
+    /**
+     * `dgs.graphql.errors.log.max-per-interval` and `dgs.graphql.errors.log.interval` limit how many exceptions of each
+     * class are logged; error metrics are recorded if a MeterRegistry is available.
+     */
     @Bean
     @ConditionalOnMissingBean
-    public DataFetcherExceptionHandler dataFetcherExceptionHandler() {
-        return new DefaultDataFetcherExceptionHandler();
+    public DataFetcherExceptionHandler dataFetcherExceptionHandler(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DefaultDataFetcherExceptionHandler(
+            environment.getProperty("dgs.graphql.errors.log.max-per-interval", Integer.class, DefaultDataFetcherExceptionHandler.DEFAULT_MAX_LOGGED_PER_INTERVAL),
+            environment.getProperty("dgs.graphql.errors.log.interval", Duration.class, DefaultDataFetcherExceptionHandler.DEFAULT_LOG_INTERVAL),
+            meterRegistry.getIfAvailable()
+        );
     }
 
     @Bean
@@ -229,6 +540,17 @@ public class DgsAutoConfiguration {
         return new UploadScalar();
     }
 
+    /**
+     * Maps the files of multipart requests into their variables; the files of a request may have at most
+     * `dgs.graphql.uploads.max-request-size` in total, which is unlimited unless configured.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public MultipartVariableMapper multipartVariableMapper(Environment environment) {
+        var maxRequestSize = environment.getProperty("dgs.graphql.uploads.max-request-size", DataSize.class);
+        return new MultipartVariableMapper(maxRequestSize != null ? maxRequestSize.toBytes() : MultipartVariableMapper.UNLIMITED);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnClass(name = {"reactor.core.publisher.Mono"})
@@ -236,11 +558,17 @@ public class DgsAutoConfiguration {
         return new ReactiveDataFetcherResultProcessor.MonoDataFetcherResultProcessor();
     }
 
+    /**
+     * Requests the elements of Flux results in chunks of `dgs.graphql.reactive.flux-chunk-size`, if it is positive; this
+     * bounds the demand on the Flux, not the memory of the list it is collected into.
+     */
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnClass(name = {"reactor.core.publisher.Flux"})
-    public ReactiveDataFetcherResultProcessor.FluxDataFetcherResultProcessor fluxReactiveDataFetcherResultProcessor() {
-        return new ReactiveDataFetcherResultProcessor.FluxDataFetcherResultProcessor();
+    public ReactiveDataFetcherResultProcessor.FluxDataFetcherResultProcessor fluxReactiveDataFetcherResultProcessor(Environment environment) {
+        return new ReactiveDataFetcherResultProcessor.FluxDataFetcherResultProcessor(
+            environment.getProperty("dgs.graphql.reactive.flux-chunk-size", Integer.class, 0)
+        );
     }
 
     @Bean